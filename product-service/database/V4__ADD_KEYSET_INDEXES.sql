@@ -0,0 +1,8 @@
+-- ============================================
+-- Migration: V4__ADD_KEYSET_INDEXES.sql
+-- Índices compuestos (campo, id) para la paginación por cursor
+-- ============================================
+
+CREATE INDEX IF NOT EXISTS idx_products_price_id ON products(price, id);
+CREATE INDEX IF NOT EXISTS idx_products_created_at_id ON products(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_products_available_id ON products(id) WHERE stock > 0;
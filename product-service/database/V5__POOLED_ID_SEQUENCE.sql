@@ -0,0 +1,8 @@
+-- ============================================
+-- Migration: V5__POOLED_ID_SEQUENCE.sql
+-- La secuencia de products.id avanza de 50 en 50: Hibernate (optimizador pooled)
+-- reserva un bloque de IDs por cada nextval y puede agrupar los INSERT en lotes JDBC
+-- Debe coincidir con allocationSize de ProductEntity
+-- ============================================
+
+ALTER SEQUENCE products_id_seq INCREMENT BY 50;
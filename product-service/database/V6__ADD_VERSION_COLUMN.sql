@@ -0,0 +1,6 @@
+-- ============================================
+-- Migration: V6__ADD_VERSION_COLUMN.sql
+-- Versión para bloqueo optimista (@Version en ProductEntity, ETag en la API)
+-- ============================================
+
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
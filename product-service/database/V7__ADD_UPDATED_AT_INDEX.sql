@@ -0,0 +1,6 @@
+-- ============================================
+-- Migration: V7__ADD_UPDATED_AT_INDEX.sql
+-- max(updated_at) para los ETag de listados sin recorrer la tabla
+-- ============================================
+
+CREATE INDEX IF NOT EXISTS idx_products_updated_at ON products(updated_at);
@@ -0,0 +1,7 @@
+-- ============================================
+-- Migration: V8__ADD_SEARCH_INDEXES.sql
+-- Búsqueda por categoría con paginación por cursor y rango de precio
+-- ============================================
+
+CREATE INDEX IF NOT EXISTS idx_products_category_id ON products(category, id);
+CREATE INDEX IF NOT EXISTS idx_products_category_price_id ON products(category, price, id);
@@ -0,0 +1,16 @@
+-- ============================================
+-- Migration: V9__ADD_FULL_TEXT_SEARCH.sql
+-- Búsqueda de texto en name (peso A) y description (peso B)
+-- Configuración 'simple': sin stemming, así la búsqueda por prefijo funciona con cualquier idioma
+-- ============================================
+
+ALTER TABLE products
+    ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
+
+COMMENT ON COLUMN products.search_vector IS 'Columna generada para búsqueda de texto (no se mapea en la entidad)';
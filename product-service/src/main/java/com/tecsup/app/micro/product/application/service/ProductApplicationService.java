@@ -1,17 +1,36 @@
 package com.tecsup.app.micro.product.application.service;
 
 import com.tecsup.app.micro.product.application.usecase.*;
+import com.tecsup.app.micro.product.domain.event.ProductChangedEvent;
 import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductImportReport;
+import com.tecsup.app.micro.product.domain.model.ProductListVersion;
+import com.tecsup.app.micro.product.domain.model.ProductPage;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
+import com.tecsup.app.micro.product.domain.model.ProductSearchResult;
+import com.tecsup.app.micro.product.domain.model.ProductSuggestion;
+import com.tecsup.app.micro.product.domain.model.ProductSummaryPage;
+import com.tecsup.app.micro.product.domain.model.ProductVersion;
+import com.tecsup.app.micro.product.domain.model.StockItem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Servicio de Aplicación de Producto
  * Orquesta los casos de uso y maneja las transacciones
+ * Las escrituras publican ProductChangedEvent para invalidar las cachés de las demás réplicas.
+ * Las lecturas que llaman a user-service no abren transacción: cada consulta del repositorio
+ * usa la suya y devuelve la conexión al pool antes de la llamada HTTP
  */
 @Service
 @RequiredArgsConstructor
@@ -25,39 +44,121 @@ public class ProductApplicationService {
     private final CreateProductUseCase createProductUseCase;
     private final UpdateProductUseCase updateProductUseCase;
     private final DeleteProductUseCase deleteProductUseCase;
+    private final ExportProductsUseCase exportProductsUseCase;
+    private final ImportProductsUseCase importProductsUseCase;
+    private final ReserveStockUseCase reserveStockUseCase;
+    private final ReleaseStockUseCase releaseStockUseCase;
+    private final GetProductVersionUseCase getProductVersionUseCase;
+    private final GetProductListVersionUseCase getProductListVersionUseCase;
+    private final SearchProductsUseCase searchProductsUseCase;
+    private final SuggestProductsUseCase suggestProductsUseCase;
+    private final GetProductSummariesUseCase getProductSummariesUseCase;
+    private final ApplicationEventPublisher eventPublisher;
     
+    public ProductPage getAllProducts(ProductQuery query, boolean expandCreatedByUser) {
+        return getAllProductsUseCase.execute(query, expandCreatedByUser);
+    }
+    
+    /**
+     * Listado sin expand: vistas planas proyectadas desde la consulta
+     */
     @Transactional(readOnly = true)
-    public List<Product> getAllProducts() {
-        return getAllProductsUseCase.execute();
+    public ProductSummaryPage getProductSummaries(ProductQuery query) {
+        return getProductSummariesUseCase.execute(query);
     }
     
     @Transactional(readOnly = true)
+    public ProductSummaryPage getAvailableProductSummaries(ProductQuery query) {
+        query.setOnlyAvailable(true);
+        return getProductSummariesUseCase.execute(query);
+    }
+    
     public Product getProductById(Long id) {
         return getProductByIdUseCase.execute(id);
     }
     
+    public ProductSearchResult searchProducts(ProductQuery query, boolean expandCreatedByUser) {
+        return searchProductsUseCase.execute(query, expandCreatedByUser);
+    }
+    
+    /**
+     * Se responde desde memoria: no abre transacción ni toma conexión
+     */
+    public List<ProductSuggestion> suggestProducts(String prefix, int limit) {
+        return suggestProductsUseCase.execute(prefix, limit);
+    }
+    
+    @Transactional(readOnly = true)
+    public ProductVersion getProductVersion(Long id) {
+        return getProductVersionUseCase.execute(id);
+    }
+    
     @Transactional(readOnly = true)
-    public List<Product> getAvailableProducts() {
-        return getAvailableProductsUseCase.execute();
+    public ProductListVersion getProductListVersion(boolean onlyAvailable, Long createdBy) {
+        return getProductListVersionUseCase.execute(onlyAvailable, createdBy);
+    }
+    
+    public ProductPage getAvailableProducts(ProductQuery query, boolean expandCreatedByUser) {
+        return getAvailableProductsUseCase.execute(query, expandCreatedByUser);
     }
     
+    public List<Product> getProductsByUser(Long userId, boolean expandCreatedByUser) {
+        return getProductsByUserUseCase.execute(userId, expandCreatedByUser);
+    }
+    
+    /**
+     * El cursor de la base de datos vive mientras dure la transacción
+     */
     @Transactional(readOnly = true)
-    public List<Product> getProductsByUser(Long userId) {
-        return getProductsByUserUseCase.execute(userId);
+    public void exportProducts(Consumer<Product> action) {
+        exportProductsUseCase.execute(action);
     }
     
     @Transactional
     public Product createProduct(Product product) {
-        return createProductUseCase.execute(product);
+        Product created = createProductUseCase.execute(product);
+        eventPublisher.publishEvent(ProductChangedEvent.of(created.getId()));
+        return created;
     }
     
     @Transactional
-    public Product updateProduct(Long id, Product product) {
-        return updateProductUseCase.execute(id, product);
+    public ProductImportReport importProducts(Iterator<String> lines, long firstLine, Function<String, Product> parser) {
+        ProductImportReport report = importProductsUseCase.execute(lines, firstLine, parser);
+        if (report.getImported() > 0) {
+            eventPublisher.publishEvent(ProductChangedEvent.allProducts());
+        }
+        return report;
+    }
+    
+    @Transactional
+    public Product updateProduct(Long id, Product product, Long expectedVersion) {
+        Product updated = updateProductUseCase.execute(id, product, expectedVersion);
+        eventPublisher.publishEvent(ProductChangedEvent.of(updated.getId()));
+        return updated;
     }
     
     @Transactional
     public void deleteProduct(Long id) {
         deleteProductUseCase.execute(id);
+        eventPublisher.publishEvent(ProductChangedEvent.of(id));
+    }
+    
+    /**
+     * Reserva todo o nada: si un producto no tiene stock se revierten los demás
+     */
+    @Transactional
+    public void reserveStock(List<StockItem> items) {
+        reserveStockUseCase.execute(items);
+        eventPublisher.publishEvent(ProductChangedEvent.ofStock(productIds(items)));
+    }
+    
+    @Transactional
+    public void releaseStock(List<StockItem> items) {
+        releaseStockUseCase.execute(items);
+        eventPublisher.publishEvent(ProductChangedEvent.ofStock(productIds(items)));
+    }
+    
+    private static Set<Long> productIds(List<StockItem> items) {
+        return items.stream().map(StockItem::getProductId).collect(Collectors.toSet());
     }
 }
@@ -0,0 +1,25 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Caso de uso: Exportar todos los productos en streaming
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExportProductsUseCase {
+    
+    private final ProductRepository productRepository;
+    
+    public void execute(Consumer<Product> action) {
+        log.debug("Executing ExportProductsUseCase");
+        productRepository.forEach(action);
+    }
+}
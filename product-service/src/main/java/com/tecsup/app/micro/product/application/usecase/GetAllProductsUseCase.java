@@ -1,13 +1,13 @@
 package com.tecsup.app.micro.product.application.usecase;
 
 import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductPage;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
 import com.tecsup.app.micro.product.domain.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 /**
  * Caso de uso: Obtener todos los productos
  */
@@ -17,9 +17,14 @@ import java.util.List;
 public class GetAllProductsUseCase {
     
     private final ProductRepository productRepository;
+    private final ProductUserEnricher productUserEnricher;
     
-    public List<Product> execute() {
-        log.debug("Executing GetAllProductsUseCase");
-        return productRepository.findAll();
+    public ProductPage execute(ProductQuery query, boolean expandCreatedByUser) {
+        log.debug("Executing GetAllProductsUseCase: {}", query);
+        ProductPage page = productRepository.findPage(query);
+        if (expandCreatedByUser) {
+            page.setItems(productUserEnricher.enrich(page.getItems()));
+        }
+        return page;
     }
 }
@@ -1,13 +1,13 @@
 package com.tecsup.app.micro.product.application.usecase;
 
 import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductPage;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
 import com.tecsup.app.micro.product.domain.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
-
 /**
  * Caso de uso: Obtener productos disponibles (stock > 0)
  */
@@ -17,9 +17,15 @@ import java.util.List;
 public class GetAvailableProductsUseCase {
     
     private final ProductRepository productRepository;
+    private final ProductUserEnricher productUserEnricher;
     
-    public List<Product> execute() {
-        log.debug("Executing GetAvailableProductsUseCase");
-        return productRepository.findAvailableProducts();
+    public ProductPage execute(ProductQuery query, boolean expandCreatedByUser) {
+        log.debug("Executing GetAvailableProductsUseCase: {}", query);
+        query.setOnlyAvailable(true);
+        ProductPage page = productRepository.findPage(query);
+        if (expandCreatedByUser) {
+            page.setItems(productUserEnricher.enrich(page.getItems()));
+        }
+        return page;
     }
 }
@@ -2,6 +2,7 @@ package com.tecsup.app.micro.product.application.usecase;
 
 import com.tecsup.app.micro.product.domain.exception.ProductNotFoundException;
 import com.tecsup.app.micro.product.domain.exception.UserNotFoundException;
+import com.tecsup.app.micro.product.domain.exception.UserServiceException;
 import com.tecsup.app.micro.product.domain.model.Product;
 import com.tecsup.app.micro.product.domain.model.User;
 import com.tecsup.app.micro.product.domain.repository.ProductRepository;
@@ -31,13 +32,27 @@ public class GetProductByIdUseCase {
         // --------------------------------------------------------
         // Llama al microservicio user-service
         // --------------------------------------------------------
+        // No se puede paralelizar con la lectura del producto: createdBy solo se conoce al cargarlo
+        if (prod.getCreatedBy() == null) {
+            return prod;
+        }
+
         // Validar que el usuario existe en userdb
-        User user = userClient.getUserById(prod.getCreatedBy());
+        User user;
+        try {
+            user = userClient.getUserById(prod.getCreatedBy());
+        } catch (UserServiceException e) {
+            // user-service degradado (circuito abierto, timeout...): se responde con el
+            // usuario cacheado si lo hay, o sin createdByUser, en lugar de fallar
+            log.warn("User Service unavailable, returning product {} without fresh creator: {}", id, e.getMessage());
+            prod.setCreatedByUser(userClient.getCachedUser(prod.getCreatedBy()));
+            return prod;
+        }
         log.info("Fetching user from userdb: {}", user);
 
         if(user == null) {
             log.warn("User with id {} not found in userdb", prod.getCreatedBy());
-            throw new UserNotFoundException(id);
+            throw new UserNotFoundException(prod.getCreatedBy());
         }
 
         prod.setCreatedByUser(user);
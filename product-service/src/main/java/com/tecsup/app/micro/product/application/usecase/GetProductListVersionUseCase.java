@@ -0,0 +1,27 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.model.ProductListVersion;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caso de uso: Obtener la versión de un listado de productos
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GetProductListVersionUseCase {
+    
+    private final ProductRepository productRepository;
+    
+    /**
+     * @param onlyAvailable solo productos con stock > 0
+     * @param createdBy     usuario creador; null para todos
+     */
+    public ProductListVersion execute(boolean onlyAvailable, Long createdBy) {
+        log.debug("Executing GetProductListVersionUseCase (available: {}, createdBy: {})", onlyAvailable, createdBy);
+        return productRepository.findListVersion(onlyAvailable, createdBy);
+    }
+}
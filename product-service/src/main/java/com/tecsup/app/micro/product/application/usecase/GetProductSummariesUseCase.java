@@ -0,0 +1,24 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
+import com.tecsup.app.micro.product.domain.model.ProductSummaryPage;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caso de uso: Listar productos como vistas planas (listados sin expand)
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GetProductSummariesUseCase {
+    
+    private final ProductRepository productRepository;
+    
+    public ProductSummaryPage execute(ProductQuery query) {
+        log.debug("Executing GetProductSummariesUseCase: {}", query);
+        return productRepository.findSummaryPage(query);
+    }
+}
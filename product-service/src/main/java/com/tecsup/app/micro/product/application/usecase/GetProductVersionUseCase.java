@@ -0,0 +1,25 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.exception.ProductNotFoundException;
+import com.tecsup.app.micro.product.domain.model.ProductVersion;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caso de uso: Obtener la versión actual de un producto
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GetProductVersionUseCase {
+    
+    private final ProductRepository productRepository;
+    
+    public ProductVersion execute(Long id) {
+        log.debug("Executing GetProductVersionUseCase for id: {}", id);
+        return productRepository.findVersionById(id)
+                .orElseThrow(() -> new ProductNotFoundException(id));
+    }
+}
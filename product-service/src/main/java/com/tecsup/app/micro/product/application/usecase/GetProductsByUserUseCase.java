@@ -1,5 +1,7 @@
 package com.tecsup.app.micro.product.application.usecase;
 
+import com.tecsup.app.micro.product.domain.exception.UserNotFoundException;
+import com.tecsup.app.micro.product.domain.exception.UserServiceException;
 import com.tecsup.app.micro.product.domain.model.Product;
 import com.tecsup.app.micro.product.domain.model.User;
 import com.tecsup.app.micro.product.domain.repository.ProductRepository;
@@ -9,6 +11,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Caso de uso: Obtener productos por usuario creador
@@ -20,24 +24,51 @@ public class GetProductsByUserUseCase {
     
     private final ProductRepository productRepository;
     private final UserClient userClient;
+    private final ExecutorService lookupExecutor;
 
-    public List<Product> execute(Long userId) {
+    public List<Product> execute(Long userId, boolean expandCreatedByUser) {
+        log.debug("Executing GetProductsByUserUseCase for userId: {}", userId);
+        
+        // El userId se conoce de antemano: productdb y user-service se consultan a la vez,
+        // la latencia es max(DB, HTTP) en lugar de la suma.
+        // Si el usuario no existe no se espera a productdb: la consulta termina sola y se descarta
+        try (LookupScope scope = new LookupScope(lookupExecutor)) {
+            Future<List<Product>> products = scope.fork(() -> productRepository.findByCreatedBy(userId));
+            return validateAndJoin(userId, expandCreatedByUser, scope, products);
+        }
+    }
+    
+    private List<Product> validateAndJoin(Long userId, boolean expandCreatedByUser,
+                                          LookupScope scope, Future<List<Product>> products) {
 
         // --------------------------------------------------------
         // Llama al microservicio user-service
         // --------------------------------------------------------
         // Validar que el usuario existe en userdb
-        User user = userClient.getUserById(userId);
-        log.info("Fetching products for user from userdb: {}", user.getName());
-
-        // TODO : Validar existencia de usuario o lanzar excepcion
+        User user;
+        boolean userServiceAvailable = true;
+        try {
+            user = userClient.getUserById(userId);
+        } catch (UserServiceException e) {
+            // Sin user-service no se puede validar: se sirven los productos de productdb
+            log.warn("User Service unavailable, skipping validation of user {}: {}", userId, e.getMessage());
+            user = userClient.getCachedUser(userId);
+            userServiceAvailable = false;
+        }
 
-        if(user == null) {
+        if(user == null && userServiceAvailable) {
             log.warn("User with id {} not found in userdb", userId);
-            throw new RuntimeException("User not found");
+            throw new UserNotFoundException(userId);
         }
 
-        log.debug("Executing GetProductsByUserUseCase for userId: {}", userId);
-        return productRepository.findByCreatedBy(userId);
+        log.info("Fetching products for user {} from productdb", userId);
+        List<Product> result = scope.join(products);
+
+        // El usuario ya fue consultado para validarlo: se reutiliza sin otra llamada
+        if (expandCreatedByUser) {
+            User creator = user;
+            result.forEach(product -> product.setCreatedByUser(creator));
+        }
+        return result;
     }
 }
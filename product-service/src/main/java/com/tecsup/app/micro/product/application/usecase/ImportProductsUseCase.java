@@ -0,0 +1,125 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductImportReport;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Caso de uso: Importar productos de forma masiva
+ * Las filas se leen por bloques; cada bloque se interpreta y valida en paralelo
+ * y las filas válidas se cargan de una sola vez
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ImportProductsUseCase {
+    
+    // Filas por bloque de validación y carga
+    static final int CHUNK_SIZE = 5000;
+    
+    // Máximo de errores detallados en el reporte
+    static final int MAX_REPORTED_ERRORS = 1000;
+    
+    // Límites de las columnas de la tabla products
+    private static final int MAX_NAME_LENGTH = 200;
+    private static final int MAX_CATEGORY_LENGTH = 50;
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+    
+    private final ProductRepository productRepository;
+    
+    /**
+     * @param lines     líneas de datos (sin cabecera)
+     * @param firstLine número de línea en el archivo de la primera línea de datos
+     * @param parser    convierte una línea en un producto; lanza excepción si no es legible
+     */
+    public ProductImportReport execute(Iterator<String> lines, long firstLine, Function<String, Product> parser) {
+        log.debug("Executing ImportProductsUseCase");
+        ProductImportReport report = new ProductImportReport();
+        List<NumberedLine> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = firstLine;
+        
+        while (lines.hasNext()) {
+            String line = lines.next();
+            if (!line.isBlank()) {
+                chunk.add(new NumberedLine(lineNumber, line));
+            }
+            lineNumber++;
+            if (chunk.size() == CHUNK_SIZE) {
+                importChunk(chunk, parser, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, parser, report);
+        }
+        
+        log.info("Product import finished: {} received, {} imported, {} rejected",
+                report.getReceived(), report.getImported(), report.getRejected());
+        return report;
+    }
+    
+    private void importChunk(List<NumberedLine> chunk, Function<String, Product> parser, ProductImportReport report) {
+        // parallelStream().toList() conserva el orden de las filas
+        List<RowResult> results = chunk.parallelStream()
+                .map(line -> parse(line, parser))
+                .toList();
+        
+        List<Product> valid = new ArrayList<>(results.size());
+        for (RowResult result : results) {
+            if (result.error() == null) {
+                valid.add(result.product());
+            } else {
+                report.reject(result.line(), result.error(), MAX_REPORTED_ERRORS);
+            }
+        }
+        report.addReceived(chunk.size());
+        if (!valid.isEmpty()) {
+            report.addImported(productRepository.insertAll(valid));
+        }
+    }
+    
+    private RowResult parse(NumberedLine line, Function<String, Product> parser) {
+        Product product;
+        try {
+            product = parser.apply(line.text());
+        } catch (RuntimeException e) {
+            return new RowResult(line.number(), null, "Unreadable row: " + e.getMessage());
+        }
+        String error = validate(product);
+        return new RowResult(line.number(), error == null ? product : null, error);
+    }
+    
+    /**
+     * Devuelve el motivo de rechazo o null si el producto puede insertarse
+     */
+    static String validate(Product product) {
+        if (!product.isValid()) {
+            return "Invalid product data. Name, valid price and stock are required.";
+        }
+        if (product.getName().length() > MAX_NAME_LENGTH) {
+            return "Name must not exceed " + MAX_NAME_LENGTH + " characters";
+        }
+        if (product.getCategory() != null && product.getCategory().length() > MAX_CATEGORY_LENGTH) {
+            return "Category must not exceed " + MAX_CATEGORY_LENGTH + " characters";
+        }
+        if (product.getPrice().stripTrailingZeros().scale() > 2 || product.getPrice().compareTo(MAX_PRICE) > 0) {
+            return "Price must not exceed " + MAX_PRICE + " and have at most 2 decimals";
+        }
+        return null;
+    }
+    
+    private record NumberedLine(long number, String text) {
+    }
+    
+    private record RowResult(long line, Product product, String error) {
+    }
+}
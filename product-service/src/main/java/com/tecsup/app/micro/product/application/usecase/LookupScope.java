@@ -0,0 +1,102 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Consultas independientes en paralelo, al estilo de StructuredTaskScope.ShutdownOnFailure
+ * (preview en Java 21): la primera que falla cancela a las demás y su excepción se relanza tal cual.
+ * Cancelar no interrumpe hilos: interrumpir uno bloqueado en el socket de pgjdbc cerraría la conexión
+ * del pool. Las consultas que aún no empezaron ya no se ejecutan; las que están en curso terminan,
+ * acotadas por su timeout de consulta, y su resultado se descarta.
+ */
+final class LookupScope implements AutoCloseable {
+
+    private final ExecutorService executor;
+    private final List<Future<?>> forks = new ArrayList<>();
+
+    // Primera excepción de cualquiera de las consultas
+    private Throwable failure;
+
+    LookupScope(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Lanza la consulta en el ejecutor del ámbito; si otra ya falló, no llega a ejecutarse
+     */
+    synchronized <T> Future<T> fork(Callable<T> task) {
+        Fork<T> fork = new Fork<>(task);
+        forks.add(fork);
+        if (failure != null) {
+            fork.cancel(false);
+        } else {
+            executor.execute(fork);
+        }
+        return fork;
+    }
+
+    /**
+     * Espera el resultado de una consulta; si alguna falló, relanza la primera excepción sin envolver
+     */
+    <T> T join(Future<T> fork) {
+        try {
+            return fork.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a lookup", e);
+        } catch (CancellationException | ExecutionException e) {
+            throw rethrowFailure(e);
+        }
+    }
+
+    /**
+     * Cancela las consultas que no hayan terminado
+     */
+    @Override
+    public synchronized void close() {
+        forks.forEach(fork -> fork.cancel(false));
+    }
+
+    private synchronized void failed(Fork<?> failed, Throwable cause) {
+        if (failure == null) {
+            failure = cause;
+        }
+        forks.stream()
+                .filter(fork -> fork != failed)
+                .forEach(fork -> fork.cancel(false));
+    }
+
+    private synchronized RuntimeException rethrowFailure(Exception e) {
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        if (failure != null) {
+            return new IllegalStateException("Lookup failed", failure);
+        }
+        return new IllegalStateException("Lookup was cancelled", e);
+    }
+
+    private final class Fork<T> extends FutureTask<T> {
+
+        Fork(Callable<T> task) {
+            super(task);
+        }
+
+        @Override
+        protected void setException(Throwable cause) {
+            // Antes de completar: quien espere este resultado ya encuentra la excepción registrada
+            failed(this, cause);
+            super.setException(cause);
+        }
+    }
+}
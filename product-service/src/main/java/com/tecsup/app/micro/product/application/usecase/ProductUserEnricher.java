@@ -0,0 +1,48 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.exception.UserServiceException;
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.User;
+import com.tecsup.app.micro.product.infrastructure.client.UserClient;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Completa createdByUser en una lista de productos con una sola consulta por lotes
+ * a user-service y un join en memoria
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductUserEnricher {
+
+    private final UserClient userClient;
+
+    public List<Product> enrich(List<Product> products) {
+        Set<Long> userIds = products.stream()
+                .map(Product::getCreatedBy)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (userIds.isEmpty()) {
+            return products;
+        }
+
+        log.debug("Enriching {} products with {} distinct users", products.size(), userIds.size());
+        try {
+            Map<Long, User> users = userClient.getUsersByIds(userIds);
+            products.forEach(product -> product.setCreatedByUser(users.get(product.getCreatedBy())));
+        } catch (UserServiceException e) {
+            // user-service degradado: se completan solo los usuarios que ya estén en caché
+            log.warn("User Service unavailable, enriching products from cache only: {}", e.getMessage());
+            products.forEach(product -> product.setCreatedByUser(userClient.getCachedUser(product.getCreatedBy())));
+        }
+        return products;
+    }
+}
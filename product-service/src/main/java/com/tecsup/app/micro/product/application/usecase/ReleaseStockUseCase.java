@@ -0,0 +1,33 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.exception.ProductNotFoundException;
+import com.tecsup.app.micro.product.domain.model.StockItem;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caso de uso: Liberar (devolver) stock de uno o varios productos
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReleaseStockUseCase {
+    
+    private final ProductRepository productRepository;
+    
+    public void execute(List<StockItem> items) {
+        log.debug("Executing ReleaseStockUseCase for {} items", items.size());
+        
+        for (Map.Entry<Long, Integer> item : StockItems.mergeSorted(items).entrySet()) {
+            if (!productRepository.releaseStock(item.getKey(), item.getValue())) {
+                throw new ProductNotFoundException(item.getKey());
+            }
+        }
+        log.info("Stock released for products: {}", items.stream().map(StockItem::getProductId).toList());
+    }
+}
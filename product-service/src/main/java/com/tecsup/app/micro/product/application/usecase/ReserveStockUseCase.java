@@ -0,0 +1,39 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.exception.InsufficientStockException;
+import com.tecsup.app.micro.product.domain.exception.ProductNotFoundException;
+import com.tecsup.app.micro.product.domain.model.StockItem;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caso de uso: Reservar stock de uno o varios productos
+ * Cada descuento es un UPDATE condicional (stock >= cantidad); si alguno falla
+ * se lanza la excepción y la transacción revierte toda la reserva
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReserveStockUseCase {
+    
+    private final ProductRepository productRepository;
+    
+    public void execute(List<StockItem> items) {
+        log.debug("Executing ReserveStockUseCase for {} items", items.size());
+        
+        for (Map.Entry<Long, Integer> item : StockItems.mergeSorted(items).entrySet()) {
+            if (!productRepository.reserveStock(item.getKey(), item.getValue())) {
+                if (!productRepository.existsById(item.getKey())) {
+                    throw new ProductNotFoundException(item.getKey());
+                }
+                throw new InsufficientStockException(item.getKey(), item.getValue());
+            }
+        }
+        log.info("Stock reserved for products: {}", items.stream().map(StockItem::getProductId).toList());
+    }
+}
@@ -0,0 +1,53 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.exception.InvalidProductDataException;
+import com.tecsup.app.micro.product.domain.model.ProductPage;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
+import com.tecsup.app.micro.product.domain.model.ProductSearchResult;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caso de uso: Buscar productos por categoría, rango de precio y stock, con facetas por categoría
+ * Con texto (q) los resultados se ordenan por relevancia e incluyen fragmentos resaltados
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchProductsUseCase {
+    
+    private final ProductRepository productRepository;
+    private final ProductUserEnricher productUserEnricher;
+    
+    public ProductSearchResult execute(ProductQuery query, boolean expandCreatedByUser) {
+        log.debug("Executing SearchProductsUseCase: {}", query);
+        
+        if (query.getMinPrice() != null && query.getMaxPrice() != null
+                && query.getMinPrice().compareTo(query.getMaxPrice()) > 0) {
+            throw new InvalidProductDataException("minPrice must be less than or equal to maxPrice");
+        }
+        
+        ProductSearchResult result;
+        if (query.getText() != null) {
+            result = productRepository.searchText(query);
+        } else {
+            ProductPage page = productRepository.findPage(query);
+            result = ProductSearchResult.builder()
+                    .items(page.getItems())
+                    .nextCursor(page.getNextCursor())
+                    .nextValue(page.getNextValue())
+                    .build();
+        }
+        
+        // Las facetas no dependen del cursor: se calculan solo para la primera página
+        if (query.getAfter() == null) {
+            result.setFacets(productRepository.countByCategory(query));
+        }
+        if (expandCreatedByUser) {
+            result.setItems(productUserEnricher.enrich(result.getItems()));
+        }
+        return result;
+    }
+}
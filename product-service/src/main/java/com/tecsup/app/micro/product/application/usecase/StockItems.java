@@ -0,0 +1,32 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.exception.InvalidProductDataException;
+import com.tecsup.app.micro.product.domain.model.StockItem;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Utilidades comunes a la reserva y liberación de stock
+ */
+final class StockItems {
+    
+    private StockItems() {
+    }
+    
+    /**
+     * Suma las cantidades de un mismo producto y ordena por ID
+     * Todas las transacciones toman los bloqueos de fila en el mismo orden, sin interbloqueos
+     */
+    static Map<Long, Integer> mergeSorted(List<StockItem> items) {
+        Map<Long, Integer> merged = new TreeMap<>();
+        for (StockItem item : items) {
+            if (item.getProductId() == null || item.getQuantity() <= 0) {
+                throw new InvalidProductDataException("Each stock item needs a productId and a quantity greater than 0");
+            }
+            merged.merge(item.getProductId(), item.getQuantity(), Math::addExact);
+        }
+        return merged;
+    }
+}
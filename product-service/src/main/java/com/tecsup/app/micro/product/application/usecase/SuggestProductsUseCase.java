@@ -0,0 +1,28 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.model.ProductSuggestion;
+import com.tecsup.app.micro.product.domain.repository.ProductSuggestionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Caso de uso: Sugerir productos cuyo nombre o categoría empieza con el texto escrito
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SuggestProductsUseCase {
+    
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+    
+    private final ProductSuggestionRepository productSuggestionRepository;
+    
+    public List<ProductSuggestion> execute(String prefix, int limit) {
+        log.debug("Executing SuggestProductsUseCase for prefix: {}", prefix);
+        return productSuggestionRepository.suggest(prefix, Math.min(Math.max(limit, 1), MAX_LIMIT));
+    }
+}
@@ -2,6 +2,7 @@ package com.tecsup.app.micro.product.application.usecase;
 
 import com.tecsup.app.micro.product.domain.exception.InvalidProductDataException;
 import com.tecsup.app.micro.product.domain.exception.ProductNotFoundException;
+import com.tecsup.app.micro.product.domain.exception.ProductVersionConflictException;
 import com.tecsup.app.micro.product.domain.model.Product;
 import com.tecsup.app.micro.product.domain.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,13 +19,21 @@ public class UpdateProductUseCase {
     
     private final ProductRepository productRepository;
     
-    public Product execute(Long id, Product productDetails) {
+    /**
+     * @param expectedVersion versión enviada en If-Match; null para no condicionar la actualización
+     */
+    public Product execute(Long id, Product productDetails, Long expectedVersion) {
         log.debug("Executing UpdateProductUseCase for id: {}", id);
         
         // Verificar que el producto existe
         Product existingProduct = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException(id));
         
+        // Verificar que nadie lo modificó desde que el cliente lo leyó
+        if (expectedVersion != null && !expectedVersion.equals(existingProduct.getVersion())) {
+            throw new ProductVersionConflictException(id);
+        }
+        
         // Validar datos del producto
         if (!productDetails.isValid()) {
             throw new InvalidProductDataException("Invalid product data. Name, valid price and stock are required.");
@@ -0,0 +1,34 @@
+package com.tecsup.app.micro.product.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Evento de dominio emitido cuando se escriben productos
+ * ids indica qué productos quedan obsoletos en caché; all invalida todo
+ * stockOnly marca las reservas y liberaciones: solo cambió el stock, no el nombre ni la categoría
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangedEvent {
+
+    private Set<Long> ids;
+    private boolean all;
+    private boolean stockOnly;
+
+    public static ProductChangedEvent of(Long id) {
+        return new ProductChangedEvent(Set.of(id), false, false);
+    }
+
+    public static ProductChangedEvent ofStock(Set<Long> ids) {
+        return new ProductChangedEvent(ids, false, true);
+    }
+
+    public static ProductChangedEvent allProducts() {
+        return new ProductChangedEvent(Set.of(), true, false);
+    }
+}
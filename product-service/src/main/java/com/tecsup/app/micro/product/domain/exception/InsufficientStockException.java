@@ -0,0 +1,11 @@
+package com.tecsup.app.micro.product.domain.exception;
+
+/**
+ * Excepción cuando un producto no tiene stock suficiente para una reserva
+ */
+public class InsufficientStockException extends RuntimeException {
+    
+    public InsufficientStockException(Long productId, int quantity) {
+        super("Insufficient stock for product " + productId + " (requested: " + quantity + ")");
+    }
+}
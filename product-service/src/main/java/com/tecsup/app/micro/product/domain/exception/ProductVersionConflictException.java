@@ -0,0 +1,11 @@
+package com.tecsup.app.micro.product.domain.exception;
+
+/**
+ * Excepción cuando la versión esperada (If-Match) no coincide con la versión actual del producto
+ */
+public class ProductVersionConflictException extends RuntimeException {
+    
+    public ProductVersionConflictException(Long id) {
+        super("Product " + id + " was modified by another request (version mismatch)");
+    }
+}
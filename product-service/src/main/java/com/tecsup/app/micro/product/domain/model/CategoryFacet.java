@@ -0,0 +1,17 @@
+package com.tecsup.app.micro.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cantidad de productos de una categoría que cumplen los demás filtros de una búsqueda
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryFacet {
+
+    private String category;
+    private Long count;
+}
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
  * Esta es la entidad de dominio pura, sin dependencias de frameworks
  */
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
@@ -27,6 +27,7 @@ public class Product {
     private Long createdBy;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     private User createdByUser; // Relación con el usuario que creó el producto (opcional)
 
@@ -0,0 +1,51 @@
+package com.tecsup.app.micro.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva de productos
+ * errors guarda como máximo un número acotado de filas; rejected cuenta todas
+ */
+@Data
+@NoArgsConstructor
+public class ProductImportReport {
+    
+    private long received;
+    private long imported;
+    private long rejected;
+    private List<RowError> errors = new ArrayList<>();
+    
+    public void addReceived(long rows) {
+        received += rows;
+    }
+    
+    public void addImported(long rows) {
+        imported += rows;
+    }
+    
+    /**
+     * Registra una fila rechazada; el detalle solo se guarda hasta maxErrors
+     */
+    public void reject(long line, String message, int maxErrors) {
+        rejected++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, message));
+        }
+    }
+    
+    /**
+     * Error de una fila del archivo (line es el número de línea en el archivo)
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
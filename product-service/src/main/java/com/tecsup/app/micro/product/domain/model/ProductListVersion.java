@@ -0,0 +1,26 @@
+package com.tecsup.app.micro.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Agregado barato que cambia cuando cambia un listado
+ * Toda escritura incrementa version, así que una modificación mueve versionSum;
+ * un alta o una baja mueven count. Si se reemplaza una fila sin cambiar count, la nueva
+ * trae el updated_at más reciente y mueve lastModified: no se supone que los ids nuevos
+ * sean mayores, porque con secuencias pooled entre réplicas del servicio no lo son.
+ * El ETag usa los cuatro valores; Last-Modified, solo lastModified
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductListVersion {
+    
+    private Long count;
+    private Long idSum;
+    private Long versionSum;
+    private LocalDateTime lastModified;
+}
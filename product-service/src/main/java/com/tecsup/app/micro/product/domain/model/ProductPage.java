@@ -0,0 +1,23 @@
+package com.tecsup.app.micro.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de productos; nextCursor es null cuando no hay más resultados
+ * nextValue es el valor del campo de orden del último producto (null si se ordena por ID)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPage {
+
+    private List<Product> items;
+    private Long nextCursor;
+    private String nextValue;
+}
@@ -0,0 +1,51 @@
+package com.tecsup.app.micro.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Criterios de consulta paginada por cursor (keyset) del catálogo
+ * after es el ID del último producto de la página anterior; si se ordena por otro campo,
+ * afterValue trae el valor de ese campo en el mismo producto, así el cursor no depende
+ * de que la fila siga existiendo
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductQuery {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private Long after;
+    private String afterValue;
+
+    @Builder.Default
+    private int limit = DEFAULT_LIMIT;
+
+    @Builder.Default
+    private ProductSortField sort = ProductSortField.ID;
+
+    private boolean descending;
+
+    /**
+     * Solo productos con stock > 0
+     */
+    private boolean onlyAvailable;
+
+    // Filtros opcionales de búsqueda (null = sin filtro)
+    private String category;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+
+    /**
+     * Texto libre: ordena por relevancia y el cursor pasa a ser (afterRank, after)
+     */
+    private String text;
+    private Float afterRank;
+}
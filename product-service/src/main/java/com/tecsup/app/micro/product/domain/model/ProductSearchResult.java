@@ -0,0 +1,29 @@
+package com.tecsup.app.micro.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de una búsqueda: una página de productos y, en la primera página,
+ * el conteo por categoría
+ * nextValue completa el cursor al ordenar por un campo distinto de ID;
+ * en búsquedas de texto lo hace nextRank y highlights trae el fragmento resaltado por ID
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResult {
+
+    private List<Product> items;
+    private Long nextCursor;
+    private String nextValue;
+    private Float nextRank;
+    private Map<Long, String> highlights;
+    private List<CategoryFacet> facets;
+}
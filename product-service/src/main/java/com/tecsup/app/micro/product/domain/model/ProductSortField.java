@@ -0,0 +1,69 @@
+package com.tecsup.app.micro.product.domain.model;
+
+import com.tecsup.app.micro.product.domain.exception.InvalidProductDataException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Campos indexados por los que se puede ordenar y paginar el catálogo
+ */
+public enum ProductSortField {
+
+    ID("id"),
+    CREATED_AT("createdAt"),
+    PRICE("price");
+
+    private final String param;
+
+    ProductSortField(String param) {
+        this.param = param;
+    }
+
+    public String getParam() {
+        return param;
+    }
+
+    /**
+     * Convierte el valor del parámetro ?sort= (id, createdAt, price)
+     */
+    public static ProductSortField fromParam(String param) {
+        if (param == null || param.isBlank()) {
+            return ID;
+        }
+        for (ProductSortField field : values()) {
+            if (field.param.equalsIgnoreCase(param) || field.name().equalsIgnoreCase(param)) {
+                return field;
+            }
+        }
+        throw new InvalidProductDataException("Invalid sort field: " + param + ". Allowed: id, createdAt, price");
+    }
+
+    /**
+     * Valor del campo de orden que viaja en el cursor (afterValue) junto al ID
+     * Con ID es null: el ID ya es el cursor completo
+     */
+    public String cursorValue(BigDecimal price, LocalDateTime createdAt) {
+        return switch (this) {
+            case ID -> null;
+            case CREATED_AT -> createdAt.toString();
+            case PRICE -> price.toPlainString();
+        };
+    }
+
+    /**
+     * Convierte el afterValue recibido al tipo del campo de orden
+     */
+    public Comparable<?> parseCursorValue(String value) {
+        try {
+            return switch (this) {
+                case ID -> Long.valueOf(value);
+                case CREATED_AT -> LocalDateTime.parse(value);
+                case PRICE -> new BigDecimal(value);
+            };
+        } catch (NumberFormatException | DateTimeParseException e) {
+            throw new InvalidProductDataException("Invalid cursor value for sort " + param + ": " + value);
+        }
+    }
+}
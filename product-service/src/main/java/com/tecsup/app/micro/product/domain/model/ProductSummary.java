@@ -0,0 +1,30 @@
+package com.tecsup.app.micro.product.domain.model;
+
+import lombok.Value;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Vista plana e inmutable de un producto para los listados de solo lectura
+ * Se construye directamente desde la consulta (sin entidad administrada ni mapeos intermedios)
+ * y se serializa tal cual en la respuesta: mismos campos que ProductResponse sin createdByUser
+ */
+@Value
+public class ProductSummary {
+
+    Long id;
+    String name;
+    String description;
+    BigDecimal price;
+    Integer stock;
+    String category;
+    Long createdBy;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+    Long version;
+
+    public boolean isAvailable() {
+        return stock != null && stock > 0;
+    }
+}
@@ -0,0 +1,21 @@
+package com.tecsup.app.micro.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de vistas planas de producto; nextCursor es null cuando no hay más resultados
+ * nextValue es el valor del campo de orden del último producto (null si se ordena por ID)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSummaryPage {
+
+    private List<ProductSummary> items;
+    private Long nextCursor;
+    private String nextValue;
+}
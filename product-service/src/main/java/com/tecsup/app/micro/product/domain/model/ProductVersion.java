@@ -0,0 +1,20 @@
+package com.tecsup.app.micro.product.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versión y fecha de modificación de un producto, sin cargar el resto de la fila
+ * Sirve para responder peticiones condicionales (If-None-Match / If-Modified-Since)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductVersion {
+    
+    private Long version;
+    private LocalDateTime updatedAt;
+}
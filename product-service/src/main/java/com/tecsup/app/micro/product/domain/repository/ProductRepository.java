@@ -1,9 +1,17 @@
 package com.tecsup.app.micro.product.domain.repository;
 
+import com.tecsup.app.micro.product.domain.model.CategoryFacet;
 import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductListVersion;
+import com.tecsup.app.micro.product.domain.model.ProductPage;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
+import com.tecsup.app.micro.product.domain.model.ProductSearchResult;
+import com.tecsup.app.micro.product.domain.model.ProductSummaryPage;
+import com.tecsup.app.micro.product.domain.model.ProductVersion;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Puerto del Repositorio de Producto (Interface)
@@ -17,11 +25,46 @@ public interface ProductRepository {
      */
     List<Product> findAll();
     
+    /**
+     * Obtiene una página de productos por cursor (keyset)
+     */
+    ProductPage findPage(ProductQuery query);
+    
+    /**
+     * Cuenta productos por categoría con los filtros de la consulta, salvo la categoría y el cursor
+     */
+    List<CategoryFacet> countByCategory(ProductQuery query);
+    
+    /**
+     * Igual que findPage, pero proyectando cada fila directamente a una vista plana
+     */
+    ProductSummaryPage findSummaryPage(ProductQuery query);
+    
+    /**
+     * Búsqueda de texto ordenada por relevancia, con fragmentos resaltados (sin facetas)
+     */
+    ProductSearchResult searchText(ProductQuery query);
+    
+    /**
+     * Recorre todos los productos uno a uno, sin cargarlos todos en memoria
+     */
+    void forEach(Consumer<Product> action);
+    
     /**
      * Busca un producto por ID
      */
     Optional<Product> findById(Long id);
     
+    /**
+     * Obtiene solo la versión y fecha de modificación de un producto
+     */
+    Optional<ProductVersion> findVersionById(Long id);
+    
+    /**
+     * Obtiene el agregado de versión de un listado (createdBy null = todos)
+     */
+    ProductListVersion findListVersion(boolean onlyAvailable, Long createdBy);
+    
     /**
      * Busca productos por categoría
      */
@@ -42,6 +85,23 @@ public interface ProductRepository {
      */
     Product save(Product product);
     
+    /**
+     * Inserta muchos productos nuevos en una sola operación
+     * Devuelve la cantidad de filas insertadas
+     */
+    int insertAll(List<Product> products);
+    
+    /**
+     * Descuenta stock de forma atómica si hay suficiente
+     * Devuelve false si el producto no existe o el stock no alcanza
+     */
+    boolean reserveStock(Long id, int quantity);
+    
+    /**
+     * Devuelve stock de forma atómica; false si el producto no existe
+     */
+    boolean releaseStock(Long id, int quantity);
+    
     /**
      * Elimina un producto por ID
      */
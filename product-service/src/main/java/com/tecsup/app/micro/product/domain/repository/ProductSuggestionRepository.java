@@ -0,0 +1,13 @@
+package com.tecsup.app.micro.product.domain.repository;
+
+import com.tecsup.app.micro.product.domain.model.ProductSuggestion;
+
+import java.util.List;
+
+/**
+ * Puerto de autocompletado de productos por prefijo de nombre o categoría
+ */
+public interface ProductSuggestionRepository {
+
+    List<ProductSuggestion> suggest(String prefix, int limit);
+}
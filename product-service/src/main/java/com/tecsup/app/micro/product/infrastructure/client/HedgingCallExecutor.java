@@ -0,0 +1,105 @@
+package com.tecsup.app.micro.product.infrastructure.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta una llamada idempotente con timeout adaptativo y, opcionalmente, una petición
+ * de cobertura (hedge): si la primera no respondió tras el retardo indicado se lanza una
+ * segunda y gana la que responda antes. Solo falla si fallan todos los intentos.
+ * En cuanto hay resultado (o vence el timeout) se interrumpen los intentos que sigan en curso,
+ * para que no retengan conexiones HTTP del pool.
+ */
+@Slf4j
+public class HedgingCallExecutor {
+
+    private final ExecutorService executor;
+
+    public HedgingCallExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @param call       llamada bloqueante a ejecutar en el executor
+     * @param timeout    tiempo máximo total de la llamada
+     * @param hedgeDelay retardo antes de lanzar la segunda petición, o null para no cubrir
+     * @param onHedge    se invoca cuando se lanza la segunda petición
+     */
+    public <T> CompletableFuture<T> execute(Supplier<T> call, Duration timeout, Duration hedgeDelay, Runnable onHedge) {
+        Attempts<T> attempts = new Attempts<>(call);
+        attempts.start();
+
+        if (hedgeDelay != null && hedgeDelay.compareTo(timeout) < 0) {
+            Executor delayed = CompletableFuture.delayedExecutor(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS, executor);
+            delayed.execute(() -> {
+                if (attempts.start()) {
+                    onHedge.run();
+                    log.debug("Hedging User Service call after {}", hedgeDelay);
+                }
+            });
+        }
+
+        // Resultado, fallo, timeout o cancelación del llamador: se cortan los intentos restantes
+        attempts.result.whenComplete((value, error) -> attempts.cancelAll());
+        return attempts.result.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Intentos de una llamada lógica. El lock comprueba que la llamada sigue abierta y registra
+     * el intento en un solo paso: ningún hedge arranca después de completarse el resultado.
+     */
+    private class Attempts<T> {
+
+        private final Supplier<T> call;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final List<Future<?>> running = new ArrayList<>();
+        private int outstanding;
+        private boolean closed;
+
+        Attempts(Supplier<T> call) {
+            this.call = call;
+        }
+
+        /**
+         * Lanza un intento si la llamada sigue abierta
+         */
+        synchronized boolean start() {
+            if (closed || result.isDone()) {
+                return false;
+            }
+            outstanding++;
+            running.add(executor.submit(this::attempt));
+            return true;
+        }
+
+        synchronized void cancelAll() {
+            closed = true;
+            running.forEach(attempt -> attempt.cancel(true));
+        }
+
+        private void attempt() {
+            T value;
+            try {
+                value = call.get();
+            } catch (Throwable e) {
+                synchronized (this) {
+                    // Solo se propaga el error si no queda ningún otro intento en curso
+                    if (--outstanding == 0) {
+                        result.completeExceptionally(e);
+                    }
+                }
+                return;
+            }
+            result.complete(value);
+        }
+    }
+}
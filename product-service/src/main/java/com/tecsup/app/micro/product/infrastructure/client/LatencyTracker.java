@@ -0,0 +1,49 @@
+package com.tecsup.app.micro.product.infrastructure.client;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Ventana deslizante con las últimas latencias observadas hacia user-service
+ * Los percentiles se calculan sobre una copia ordenada que se renueva cada cierto número de muestras
+ */
+public class LatencyTracker {
+
+    private static final int RESORT_EVERY = 32;
+
+    private final long[] samples;
+    private final int minSamples;
+
+    private int count;
+    private int next;
+    private int recordedSinceSort;
+    private long[] sorted = new long[0];
+
+    public LatencyTracker(int windowSize, int minSamples) {
+        this.samples = new long[windowSize];
+        this.minSamples = minSamples;
+    }
+
+    public synchronized void record(Duration latency) {
+        samples[next] = latency.toNanos();
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        recordedSinceSort++;
+    }
+
+    /**
+     * Devuelve el percentil pedido (0..1) o null si aún no hay muestras suficientes
+     */
+    public synchronized Duration percentile(double percentile) {
+        if (count < minSamples) {
+            return null;
+        }
+        if (recordedSinceSort >= RESORT_EVERY || sorted.length != count) {
+            sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            recordedSinceSort = 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+}
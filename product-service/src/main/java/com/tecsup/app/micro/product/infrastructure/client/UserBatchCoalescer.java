@@ -0,0 +1,120 @@
+package com.tecsup.app.micro.product.infrastructure.client;
+
+import com.tecsup.app.micro.product.domain.model.User;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Agrupa las peticiones individuales de usuarios que llegan dentro de una ventana corta
+ * y las resuelve con una única llamada por lotes a user-service.
+ * Las peticiones concurrentes del mismo ID comparten el mismo resultado.
+ */
+@Slf4j
+public class UserBatchCoalescer implements AutoCloseable {
+
+    private final Function<List<Long>, Map<Long, User>> batchLoader;
+    private final Executor executor;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+
+    private Map<Long, CompletableFuture<User>> pending = new HashMap<>();
+    // Ventana abierta y su temporizador: un lote lleno cierra la ventana y cancela el temporizador
+    private long window;
+    private ScheduledFuture<?> windowTimer;
+
+    public UserBatchCoalescer(Function<List<Long>, Map<Long, User>> batchLoader,
+                              Executor executor,
+                              Duration window,
+                              int maxBatchSize) {
+        this.batchLoader = batchLoader;
+        this.executor = executor;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "user-batch-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Encola un ID; el futuro se completa con el usuario o con null si no existe
+     */
+    public CompletableFuture<User> load(Long userId) {
+        CompletableFuture<User> future;
+        Map<Long, CompletableFuture<User>> batch = null;
+        synchronized (this) {
+            future = pending.get(userId);
+            if (future != null) {
+                return future;
+            }
+            future = new CompletableFuture<>();
+            pending.put(userId, future);
+            if (pending.size() >= maxBatchSize) {
+                batch = takeBatch();
+            } else if (pending.size() == 1) {
+                long current = window;
+                windowTimer = scheduler.schedule(() -> flush(current), windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        if (batch != null) {
+            dispatch(batch);
+        }
+        return future;
+    }
+
+    /**
+     * Vence el temporizador de una ventana; si esa ventana ya se envió por estar llena no hace nada
+     */
+    private void flush(long expectedWindow) {
+        Map<Long, CompletableFuture<User>> batch;
+        synchronized (this) {
+            if (expectedWindow != window || pending.isEmpty()) {
+                return;
+            }
+            batch = takeBatch();
+        }
+        dispatch(batch);
+    }
+
+    private Map<Long, CompletableFuture<User>> takeBatch() {
+        Map<Long, CompletableFuture<User>> batch = pending;
+        pending = new HashMap<>();
+        window++;
+        if (windowTimer != null) {
+            windowTimer.cancel(false);
+            windowTimer = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<Long, CompletableFuture<User>> batch) {
+        log.debug("Flushing user batch with {} ids", batch.size());
+        executor.execute(() -> {
+            try {
+                Map<Long, User> users = batchLoader.apply(List.copyOf(batch.keySet()));
+                batch.forEach((id, future) -> future.complete(users.get(id)));
+            } catch (Throwable e) {
+                batch.values().forEach(future -> future.completeExceptionally(e));
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
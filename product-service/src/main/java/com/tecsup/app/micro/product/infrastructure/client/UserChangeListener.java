@@ -0,0 +1,66 @@
+package com.tecsup.app.micro.product.infrastructure.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tecsup.app.micro.product.infrastructure.client.dto.UserChangedEventDto;
+import com.tecsup.app.micro.product.infrastructure.config.UserServiceProperties;
+import com.tecsup.app.micro.product.infrastructure.messaging.PostgresNotificationListener;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Consume los eventos de cambio de usuarios de user-service (LISTEN sobre userdb)
+ * y mantiene coherente la caché local de UserClient
+ */
+@Component
+@ConditionalOnProperty(prefix = "user.service.events", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class UserChangeListener {
+
+    private final UserClient userClient;
+    private final UserServiceProperties properties;
+    private final ObjectMapper objectMapper;
+
+    private PostgresNotificationListener listener;
+
+    @PostConstruct
+    void start() {
+        UserServiceProperties.Events events = properties.getEvents();
+        listener = new PostgresNotificationListener(
+                events.getUrl(),
+                events.getUsername(),
+                events.getPassword(),
+                new String[] { events.getChannel() },
+                (channel, payload) -> onUserChanged(payload),
+                // Los eventos perdidos durante una desconexión no se recuperan: se vacía la caché
+                userClient::invalidateAll);
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        listener.close();
+    }
+
+    private void onUserChanged(String payload) {
+        UserChangedEventDto event;
+        try {
+            event = objectMapper.readValue(payload, UserChangedEventDto.class);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed user change event: {}", payload);
+            return;
+        }
+
+        log.debug("Received user change event: {}", event);
+        if ("UPDATED".equals(event.getOp())) {
+            userClient.refresh(event.getId());
+        } else {
+            // CREATED limpia un posible 404 cacheado y DELETED descarta el usuario
+            userClient.invalidate(event.getId());
+        }
+    }
+}
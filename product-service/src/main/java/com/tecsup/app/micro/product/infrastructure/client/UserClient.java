@@ -1,37 +1,400 @@
 package com.tecsup.app.micro.product.infrastructure.client;
 
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tecsup.app.micro.product.domain.exception.UserServiceException;
 import com.tecsup.app.micro.product.domain.model.User;
 import com.tecsup.app.micro.product.infrastructure.client.dto.UserDto;
 import com.tecsup.app.micro.product.infrastructure.client.mapper.UserDtoMapper;
+import com.tecsup.app.micro.product.infrastructure.config.UserServiceProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class UserClient {
 
+    private static final String CACHE_NAME = "userSnapshots";
+
+    // user-service lee del primario las peticiones con esta cabecera (si usa réplica de lectura)
+    private static final String READ_PRIMARY_HEADER = "X-Read-Primary";
+
     private final RestTemplate restTemplate;
     private final UserDtoMapper userDTOMapper;
+    private final UserServiceProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final CircuitBreaker userServiceCircuitBreaker;
+    private final Bulkhead userServiceBulkhead;
+
+    private ExecutorService executor;
+    private UserBatchCoalescer coalescer;
+    private LatencyTracker latencyTracker;
+    private HedgingCallExecutor hedgingExecutor;
+    private Counter hedgeCounter;
+
+    // Caché local de usuarios: Optional.empty() representa un 404 cacheado
+    private AsyncLoadingCache<Long, Optional<User>> cache;
+
+    // Usuarios notificados como modificados: su próxima carga se pide leyendo del primario de userdb
+    private Cache<Long, Boolean> changedUsers;
 
-    @Value("${user.service.url}")
-    private String userServiceUrl;
+    @PostConstruct
+    void init() {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.latencyTracker = new LatencyTracker(
+                properties.getTimeout().getWindowSize(),
+                properties.getTimeout().getMinSamples());
+        this.hedgingExecutor = new HedgingCallExecutor(executor);
+        this.hedgeCounter = meterRegistry.counter("user.service.hedged.requests");
+        Gauge.builder("user.service.timeout.current", this, client -> client.currentTimeout().toMillis())
+                .baseUnit("milliseconds")
+                .description("Timeout adaptativo actual de las llamadas a user-service")
+                .register(meterRegistry);
+        this.coalescer = new UserBatchCoalescer(
+                this::fetchUsers,
+                executor,
+                properties.getBatch().getWindow(),
+                properties.getBatch().getMaxSize());
+
+        UserServiceProperties.Cache cacheProperties = properties.getCache();
+        if (cacheProperties.isEnabled()) {
+            this.cache = Caffeine.newBuilder()
+                    .maximumSize(cacheProperties.getMaximumSize())
+                    .expireAfter(new SnapshotExpiry(cacheProperties))
+                    .refreshAfterWrite(cacheProperties.getRefreshAfter())
+                    .executor(executor)
+                    .recordStats()
+                    .buildAsync(new SnapshotLoader());
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+            this.changedUsers = Caffeine.newBuilder()
+                    .maximumSize(cacheProperties.getMaximumSize())
+                    .expireAfterWrite(cacheProperties.getTtl())
+                    .build();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        coalescer.close();
+        executor.shutdown();
+    }
 
+    /**
+     * Obtiene un usuario por ID. Se sirve desde la caché local si está disponible;
+     * las llamadas concurrentes a user-service se agrupan en un único lote.
+     * Devuelve null si el usuario no existe en userdb.
+     */
     public User getUserById(Long userId) {
-        log.info("Calling User Service (PostgreSQL userdb) to get user with id: {}", userId);
+        return join(getUserByIdAsync(userId));
+    }
+
+    /**
+     * Variante no bloqueante de getUserById: la llamada HTTP se ejecuta en un hilo virtual
+     * y el futuro se completa con el usuario o con null si no existe
+     */
+    public CompletableFuture<User> getUserByIdAsync(Long userId) {
+        // Puede resolverse en caché: la llamada HTTP real se registra en requestUsers
+        log.debug("Getting user with id: {}", userId);
+        if (cache == null) {
+            return coalescer.load(userId);
+        }
+        return cache.get(userId).thenApply(user -> user.orElse(null));
+    }
+
+    /**
+     * Obtiene varios usuarios con el mínimo número de llamadas a user-service.
+     * Los IDs inexistentes no aparecen en el mapa resultante.
+     */
+    public Map<Long, User> getUsersByIds(Collection<Long> userIds) {
+        return join(getUsersByIdsAsync(userIds));
+    }
+
+    /**
+     * Variante no bloqueante de getUsersByIds
+     */
+    public CompletableFuture<Map<Long, User>> getUsersByIdsAsync(Collection<Long> userIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+        ids.removeIf(Objects::isNull);
+        if (ids.isEmpty()) {
+            return CompletableFuture.completedFuture(Map.of());
+        }
+
+        if (cache == null) {
+            return CompletableFuture.supplyAsync(() -> fetchUsersInChunks(ids, false), executor);
+        }
+
+        return cache.getAll(ids).thenApply(cached -> {
+            Map<Long, User> users = new HashMap<>();
+            cached.forEach((id, user) -> user.ifPresent(value -> users.put(id, value)));
+            return users;
+        });
+    }
+
+    /**
+     * Devuelve el usuario solo si ya está en la caché local (aunque esté pendiente de refresco),
+     * sin llamar a user-service. Sirve como respaldo cuando user-service no está disponible.
+     */
+    public User getCachedUser(Long userId) {
+        if (cache == null) {
+            return null;
+        }
+        CompletableFuture<Optional<User>> cached = cache.getIfPresent(userId);
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally()) {
+            return null;
+        }
+        return cached.join().orElse(null);
+    }
+
+    /**
+     * Descarta el usuario de la caché local; la siguiente lectura irá a user-service
+     */
+    public void invalidate(Long userId) {
+        if (cache != null) {
+            changedUsers.put(userId, Boolean.TRUE);
+            cache.synchronous().invalidate(userId);
+        }
+    }
+
+    /**
+     * Recarga en segundo plano el usuario si está en la caché local
+     */
+    public void refresh(Long userId) {
+        if (cache != null && cache.getIfPresent(userId) != null) {
+            changedUsers.put(userId, Boolean.TRUE);
+            cache.synchronous().refresh(userId);
+        }
+    }
+
+    /**
+     * Vacía la caché local de usuarios
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.synchronous().invalidateAll();
+        }
+    }
+
+    private Map<Long, User> fetchUsersInChunks(List<Long> ids, boolean readPrimary) {
+        Map<Long, User> users = new HashMap<>();
+        int maxSize = properties.getBatch().getMaxSize();
+        for (int from = 0; from < ids.size(); from += maxSize) {
+            users.putAll(fetchUsers(ids.subList(from, Math.min(from + maxSize, ids.size())), readPrimary));
+        }
+        return users;
+    }
+
+    /**
+     * Llamada por lotes protegida: el circuit breaker corta en seco si user-service está degradado,
+     * el bulkhead limita las llamadas lógicas concurrentes y el timeout adaptativo abandona las lentas.
+     * Si hay hedging, tras el percentil configurado se lanza una segunda petición idéntica
+     * bajo el mismo permiso del bulkhead; la perdedora se interrumpe.
+     */
+    private Map<Long, User> fetchUsers(List<Long> ids) {
+        return fetchUsers(ids, false);
+    }
+
+    private Map<Long, User> fetchUsers(List<Long> ids, boolean readPrimary) {
+        try {
+            return userServiceCircuitBreaker.executeCallable(() -> userServiceBulkhead.executeCallable(
+                    () -> hedgingExecutor.execute(
+                            () -> requestUsers(ids, readPrimary),
+                            currentTimeout(),
+                            hedgeDelay(),
+                            hedgeCounter::increment).get()));
+        } catch (ExecutionException e) {
+            throw translate(e.getCause());
+        } catch (Exception e) {
+            throw translate(e);
+        }
+    }
 
-        String url = this.userServiceUrl + "/api/users/" + userId;
+    private RuntimeException translate(Throwable e) {
+        if (e instanceof UserServiceException userServiceException) {
+            return userServiceException;
+        }
+        if (e instanceof CallNotPermittedException) {
+            return new UserServiceException("User Service circuit breaker is open", e);
+        }
+        if (e instanceof BulkheadFullException) {
+            return new UserServiceException("User Service bulkhead is full", e);
+        }
+        if (e instanceof TimeoutException) {
+            return new UserServiceException("User Service call timed out after " + currentTimeout().toMillis() + " ms", e);
+        }
+        return new UserServiceException("Error calling User Service: " + e.getMessage(), e);
+    }
+
+    /**
+     * Timeout actual: percentil de latencia * multiplicador, acotado a [min, max]
+     */
+    private Duration currentTimeout() {
+        UserServiceProperties.Timeout timeout = properties.getTimeout();
+        Duration observed = timeout.isAdaptive() ? latencyTracker.percentile(timeout.getPercentile()) : null;
+        if (observed == null) {
+            return timeout.getInitial();
+        }
+        Duration adaptive = Duration.ofNanos((long) (observed.toNanos() * timeout.getMultiplier()));
+        if (adaptive.compareTo(timeout.getMin()) < 0) {
+            return timeout.getMin();
+        }
+        return adaptive.compareTo(timeout.getMax()) > 0 ? timeout.getMax() : adaptive;
+    }
+
+    /**
+     * Retardo antes de la petición de cobertura, o null si no hay hedging o faltan muestras
+     */
+    private Duration hedgeDelay() {
+        UserServiceProperties.Hedging hedging = properties.getHedging();
+        if (!hedging.isEnabled()) {
+            return null;
+        }
+        Duration observed = latencyTracker.percentile(hedging.getPercentile());
+        if (observed == null) {
+            return null;
+        }
+        return observed.compareTo(hedging.getMinDelay()) < 0 ? hedging.getMinDelay() : observed;
+    }
+
+    private Map<Long, User> requestUsers(List<Long> ids, boolean readPrimary) {
+        log.info("Calling User Service (PostgreSQL userdb) to get {} users in batch", ids.size());
+        long start = System.nanoTime();
+
+        String url = UriComponentsBuilder.fromUriString(properties.getUrl())
+                .path("/api/users/batch")
+                .queryParam("ids", ids)
+                .build()
+                .toUriString();
 
         try {
-            UserDto user = restTemplate.getForObject(url, UserDto.class);
-            log.info("User retrieved successfully from userdb: {}", user);
-            return userDTOMapper.toDomain(user);
+            UserDto[] dtos = readPrimary ? readFromPrimary(url) : restTemplate.getForObject(url, UserDto[].class);
+            Map<Long, User> users = new HashMap<>();
+            if (dtos != null) {
+                for (UserDto dto : dtos) {
+                    users.put(dto.getId(), userDTOMapper.toDomain(dto));
+                }
+            }
+            log.debug("Users retrieved successfully from userdb: {}", users.keySet());
+            return users;
         } catch (Exception e) {
             log.error("Error calling User Service: {}", e.getMessage());
-            throw new RuntimeException("Error calling User Service: " + e.getMessage());
+            throw new UserServiceException("Error calling User Service: " + e.getMessage(), e);
+        } finally {
+            // Se registra aunque la llamada ya se haya abandonado: así el timeout adaptativo puede crecer
+            latencyTracker.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+    }
+
+    private UserDto[] readFromPrimary(String url) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(READ_PRIMARY_HEADER, "true");
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), UserDto[].class).getBody();
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new UserServiceException("Error calling User Service: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Carga de la caché: las entradas individuales pasan por el agrupador de lotes
+     * y las cargas múltiples van directamente por lotes.
+     * Un usuario recién notificado como modificado se pide solo y leyendo del primario:
+     * la réplica de userdb podría devolver todavía la versión anterior
+     */
+    private class SnapshotLoader implements AsyncCacheLoader<Long, Optional<User>> {
+
+        @Override
+        public CompletableFuture<Optional<User>> asyncLoad(Long userId, Executor executor) {
+            if (changedUsers.asMap().remove(userId) != null) {
+                return CompletableFuture.supplyAsync(
+                        () -> Optional.ofNullable(fetchUsers(List.of(userId), true).get(userId)), executor);
+            }
+            return coalescer.load(userId).thenApply(Optional::ofNullable);
+        }
+
+        @Override
+        public CompletableFuture<Map<Long, Optional<User>>> asyncLoadAll(Set<? extends Long> userIds,
+                                                                       Executor executor) {
+            boolean readPrimary = changedUsers.asMap().keySet().removeAll(userIds);
+            return CompletableFuture.supplyAsync(() -> {
+                Map<Long, User> found = fetchUsersInChunks(new ArrayList<>(userIds), readPrimary);
+                Map<Long, Optional<User>> result = new HashMap<>();
+                userIds.forEach(id -> result.put(id, Optional.ofNullable(found.get(id))));
+                return result;
+            }, executor);
+        }
+    }
+
+    /**
+     * Expiración variable: los usuarios encontrados viven ttl y los 404 negativeTtl
+     */
+    private static class SnapshotExpiry implements Expiry<Long, Optional<User>> {
+
+        private final long ttlNanos;
+        private final long negativeTtlNanos;
+
+        SnapshotExpiry(UserServiceProperties.Cache cacheProperties) {
+            this.ttlNanos = cacheProperties.getTtl().toNanos();
+            this.negativeTtlNanos = cacheProperties.getNegativeTtl().toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(Long key, Optional<User> value, long currentTime) {
+            return value.isPresent() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long key, Optional<User> value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long key, Optional<User> value, long currentTime, long currentDuration) {
+            return currentDuration;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,17 @@
+package com.tecsup.app.micro.product.infrastructure.client.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento de cambio de usuario publicado por user-service en el canal user_changes
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangedEventDto {
+    private Long id;
+    private Long version;
+    private String op;
+}
@@ -0,0 +1,83 @@
+package com.tecsup.app.micro.product.infrastructure.config;
+
+import com.tecsup.app.micro.product.infrastructure.persistence.datasource.ReplicaFallbackDataSource;
+import com.tecsup.app.micro.product.infrastructure.persistence.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Enrutamiento de lecturas a la réplica (opcional, product.datasource.replica.enabled)
+ * Las transacciones @Transactional(readOnly = true) marcan la conexión como de solo lectura antes
+ * de usarla; LazyConnectionDataSourceProxy retrasa la conexión física hasta la primera sentencia
+ * y, si es de solo lectura, la toma del pool de la réplica. Las escrituras van al primario,
+ * igual que las recargas de caché e índice tras una invalidación (PrimaryReads).
+ * Métricas: db.replica.lag (segundos), db.replica.usable y db.replica.fallbacks
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "product.datasource.replica", name = "enabled", havingValue = "true")
+public class DataSourceRoutingConfig {
+
+    /**
+     * Pool del primario, con la configuración habitual de spring.datasource.hikari
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("product.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties primary, ReplicaDataSourceProperties replica) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(primary.determineDriverClassName())
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                               ReplicaDataSourceProperties properties,
+                                               MeterRegistry meterRegistry) {
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(replicaDataSource, properties.getMaxLag());
+        Gauge.builder("db.replica.lag", monitor, ReplicaLagMonitor::getLagSeconds)
+                .description("Replication lag of the read replica (-1 when unreachable)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("db.replica.usable", monitor, m -> m.isUsable() ? 1 : 0)
+                .register(meterRegistry);
+        monitor.start(properties.getLagCheckInterval());
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") DataSource replicaDataSource,
+                                 ReplicaLagMonitor replicaLagMonitor,
+                                 MeterRegistry meterRegistry) {
+        Counter fallbacks = Counter.builder("db.replica.fallbacks")
+                .description("Read-only connections served by the primary")
+                .register(meterRegistry);
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(new ReplicaFallbackDataSource(
+                replicaDataSource, primaryDataSource, replicaLagMonitor, fallbacks));
+        return dataSource;
+    }
+}
@@ -0,0 +1,36 @@
+package com.tecsup.app.micro.product.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la caché local de productos (prefijo product.cache)
+ */
+@Data
+@ConfigurationProperties(prefix = "product.cache")
+public class ProductCacheProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Máximo de productos individuales en caché
+     */
+    private long maximumSize = 10_000;
+
+    private Duration ttl = Duration.ofMinutes(5);
+
+    private Events events = new Events();
+
+    /**
+     * Invalidación entre réplicas con LISTEN/NOTIFY sobre productdb
+     */
+    @Data
+    public static class Events {
+
+        private boolean enabled = false;
+
+        private String channel = "product_changes";
+    }
+}
@@ -0,0 +1,30 @@
+package com.tecsup.app.micro.product.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de la réplica de lectura de productdb (prefijo product.datasource.replica)
+ * El pool de la réplica se configura aparte en product.datasource.replica.hikari
+ */
+@Data
+@ConfigurationProperties(prefix = "product.datasource.replica")
+public class ReplicaDataSourceProperties {
+
+    private boolean enabled = false;
+
+    private String url;
+
+    private String username;
+
+    private String password;
+
+    /**
+     * Con un retraso de replicación mayor, las lecturas vuelven al primario
+     */
+    private Duration maxLag = Duration.ofSeconds(10);
+
+    private Duration lagCheckInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,80 @@
+package com.tecsup.app.micro.product.infrastructure.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.tecsup.app.micro.product.infrastructure.persistence.entity.ProductEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.util.OptionalLong;
+
+/**
+ * Caché de segundo nivel de Hibernate (opcional, product.l2-cache.enabled)
+ * Regiones JCache sobre Caffeine: la entidad Producto y los resultados de consultas marcadas como cacheables.
+ * Es local a cada réplica: ProductCacheSync invalida los productos modificados en las demás.
+ * Métricas por región: cache.gets / cache.puts / cache.removals con cache=<región>
+ */
+@Configuration
+@Slf4j
+public class SecondLevelCacheConfig {
+
+    // Marcas de tiempo de las tablas: sin expiración ni desalojo (lo exige Hibernate)
+    private static final String UPDATE_TIMESTAMPS_REGION = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+    private static final String QUERY_RESULTS_REGION = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "product.l2-cache", name = "enabled", havingValue = "true")
+    public CacheManager hibernateCacheManager(SecondLevelCacheProperties properties, MeterRegistry meterRegistry) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(provider.getDefaultURI(), getClass().getClassLoader());
+
+        for (String region : new String[] { ProductEntity.CACHE_REGION, QUERY_RESULTS_REGION }) {
+            SecondLevelCacheProperties.Region settings = properties.region(region);
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(settings.getMaximumSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(settings.getTtl().toNanos()));
+            createCache(cacheManager, region, configuration, meterRegistry);
+            log.info("Hibernate L2 region {}: maximumSize={}, ttl={}", region, settings.getMaximumSize(), settings.getTtl());
+        }
+        createCache(cacheManager, UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>(), meterRegistry);
+        return cacheManager;
+    }
+
+    /**
+     * Con la caché desactivada se apaga explícitamente: Hibernate activaría por su cuenta
+     * la fábrica JCache que encuentra en el classpath
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(ObjectProvider<CacheManager> hibernateCacheManager) {
+        return hibernateProperties -> {
+            CacheManager cacheManager = hibernateCacheManager.getIfAvailable();
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, cacheManager != null);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, cacheManager != null);
+            if (cacheManager != null) {
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+                hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            }
+        };
+    }
+
+    private static void createCache(CacheManager cacheManager, String region,
+                                    CaffeineConfiguration<Object, Object> configuration, MeterRegistry meterRegistry) {
+        configuration.setStatisticsEnabled(true);
+        Cache<Object, Object> cache = cacheManager.createCache(region, configuration);
+        JCacheMetrics.monitor(meterRegistry, cache);
+    }
+}
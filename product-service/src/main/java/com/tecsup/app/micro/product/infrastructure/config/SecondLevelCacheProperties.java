@@ -0,0 +1,36 @@
+package com.tecsup.app.micro.product.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Propiedades de la caché de segundo nivel de Hibernate (prefijo product.l2-cache)
+ * Cada región (entidad o resultados de consultas) tiene su propio tamaño y TTL
+ */
+@Data
+@ConfigurationProperties(prefix = "product.l2-cache")
+public class SecondLevelCacheProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Regiones por nombre; las que no se configuran usan los valores por defecto de Region
+     */
+    private Map<String, Region> regions = new LinkedHashMap<>();
+
+    public Region region(String name) {
+        return regions.getOrDefault(name, new Region());
+    }
+
+    @Data
+    public static class Region {
+
+        private long maximumSize = 10_000;
+
+        private Duration ttl = Duration.ofMinutes(5);
+    }
+}
@@ -0,0 +1,249 @@
+package com.tecsup.app.micro.product.infrastructure.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Propiedades de comunicación con user-service (prefijo user.service)
+ */
+@Data
+@ConfigurationProperties(prefix = "user.service")
+public class UserServiceProperties {
+
+    /**
+     * URL base de user-service
+     */
+    private String url;
+
+    private Http http = new Http();
+
+    private Batch batch = new Batch();
+
+    private Cache cache = new Cache();
+
+    private Events events = new Events();
+
+    private Resilience resilience = new Resilience();
+
+    private Timeout timeout = new Timeout();
+
+    private Hedging hedging = new Hedging();
+
+    /**
+     * Pool de conexiones HTTP (keep-alive) hacia user-service
+     */
+    @Data
+    public static class Http {
+
+        private Duration connectTimeout = Duration.ofSeconds(5);
+
+        private Duration readTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Espera máxima para obtener una conexión libre del pool
+         */
+        private Duration connectionRequestTimeout = Duration.ofSeconds(2);
+
+        private int maxTotal = 50;
+
+        private int maxPerRoute = 20;
+
+        /**
+         * Tiempo que se mantiene viva una conexión si el servidor no indica Keep-Alive
+         */
+        private Duration keepAlive = Duration.ofSeconds(30);
+
+        /**
+         * Las conexiones inactivas más de este tiempo se cierran en segundo plano
+         */
+        private Duration idleEviction = Duration.ofSeconds(60);
+
+        /**
+         * Vida máxima de una conexión, para repartir carga entre pods de user-service
+         */
+        private Duration timeToLive = Duration.ofMinutes(5);
+
+        /**
+         * Solicita respuestas comprimidas (Accept-Encoding: gzip)
+         */
+        private boolean compression = true;
+    }
+
+    /**
+     * Agrupación de llamadas individuales en una sola petición /api/users/batch
+     */
+    @Data
+    public static class Batch {
+
+        /**
+         * Ventana durante la cual se acumulan IDs antes de enviar el lote
+         */
+        private Duration window = Duration.ofMillis(5);
+
+        /**
+         * Máximo de IDs por petición (user-service acepta hasta 500)
+         */
+        private int maxSize = 100;
+    }
+
+    /**
+     * Caché local (near-cache) de usuarios consultados a user-service
+     */
+    @Data
+    public static class Cache {
+
+        private boolean enabled = true;
+
+        /**
+         * Número máximo de usuarios en memoria (desalojo W-TinyLFU)
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Tiempo de vida de una entrada; pasado este tiempo ya no se sirve
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        /**
+         * Edad a partir de la cual una entrada se sirve obsoleta mientras se refresca en segundo plano
+         */
+        private Duration refreshAfter = Duration.ofMinutes(1);
+
+        /**
+         * Tiempo de vida de las respuestas "usuario no encontrado"
+         */
+        private Duration negativeTtl = Duration.ofSeconds(30);
+    }
+
+    /**
+     * Suscripción a los cambios de usuarios publicados por user-service (LISTEN/NOTIFY sobre userdb)
+     */
+    @Data
+    public static class Events {
+
+        private boolean enabled = false;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String channel = "user_changes";
+    }
+
+    /**
+     * Protección frente a degradación de user-service
+     */
+    @Data
+    public static class Resilience {
+
+        private CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+        private Bulkhead bulkhead = new Bulkhead();
+    }
+
+    @Data
+    public static class CircuitBreaker {
+
+        /**
+         * Porcentaje de fallos que abre el circuito
+         */
+        private float failureRateThreshold = 50;
+
+        /**
+         * Llamadas más lentas que esto cuentan como lentas
+         */
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(1);
+
+        /**
+         * Porcentaje de llamadas lentas que abre el circuito
+         */
+        private float slowCallRateThreshold = 80;
+
+        private int slidingWindowSize = 20;
+
+        private int minimumNumberOfCalls = 10;
+
+        /**
+         * Tiempo en abierto antes de pasar a semiabierto y probar de nuevo
+         */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(10);
+
+        /**
+         * Llamadas de prueba permitidas en estado semiabierto
+         */
+        private int permittedCallsInHalfOpenState = 3;
+    }
+
+    @Data
+    public static class Bulkhead {
+
+        /**
+         * Llamadas concurrentes máximas hacia user-service
+         */
+        private int maxConcurrentCalls = 20;
+
+        /**
+         * Espera máxima por un hueco; con 0 se rechaza de inmediato
+         */
+        private Duration maxWait = Duration.ZERO;
+    }
+
+    /**
+     * Timeout por llamada: fijo (initial) o derivado de la latencia observada
+     */
+    @Data
+    public static class Timeout {
+
+        /**
+         * Calcula el timeout a partir del percentil de latencia observado
+         */
+        private boolean adaptive = true;
+
+        /**
+         * Timeout usado mientras no hay muestras suficientes o si adaptive=false
+         */
+        private Duration initial = Duration.ofSeconds(2);
+
+        private Duration min = Duration.ofMillis(200);
+
+        /**
+         * Límite superior; no debería superar http.read-timeout
+         */
+        private Duration max = Duration.ofSeconds(5);
+
+        private double percentile = 0.99;
+
+        /**
+         * Margen aplicado sobre el percentil: timeout = percentil * multiplier
+         */
+        private double multiplier = 2.0;
+
+        /**
+         * Número de latencias recientes que se consideran
+         */
+        private int windowSize = 512;
+
+        private int minSamples = 50;
+    }
+
+    /**
+     * Peticiones de cobertura: si la primera no responde tras el percentil indicado
+     * se envía una segunda y se usa la que responda antes
+     */
+    @Data
+    public static class Hedging {
+
+        private boolean enabled = false;
+
+        private double percentile = 0.95;
+
+        /**
+         * Retardo mínimo antes de cubrir, para no duplicar llamadas rápidas
+         */
+        private Duration minDelay = Duration.ofMillis(20);
+    }
+}
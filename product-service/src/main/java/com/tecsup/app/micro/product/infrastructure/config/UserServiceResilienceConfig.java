@@ -0,0 +1,61 @@
+package com.tecsup.app.micro.product.infrastructure.config;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Circuit breaker y bulkhead para las llamadas a user-service
+ * El timeout por llamada es adaptativo y lo gestiona UserClient (user.service.timeout)
+ * Métricas: resilience4j.circuitbreaker.*, resilience4j.bulkhead.*
+ */
+@Configuration
+@Slf4j
+public class UserServiceResilienceConfig {
+
+    private static final String USER_SERVICE = "userService";
+
+    @Bean
+    public CircuitBreaker userServiceCircuitBreaker(UserServiceProperties properties, MeterRegistry meterRegistry) {
+        UserServiceProperties.CircuitBreaker config = properties.getResilience().getCircuitBreaker();
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(config.getFailureRateThreshold())
+                .slowCallDurationThreshold(config.getSlowCallDurationThreshold())
+                .slowCallRateThreshold(config.getSlowCallRateThreshold())
+                .slidingWindowSize(config.getSlidingWindowSize())
+                .minimumNumberOfCalls(config.getMinimumNumberOfCalls())
+                .waitDurationInOpenState(config.getWaitDurationInOpenState())
+                .permittedNumberOfCallsInHalfOpenState(config.getPermittedCallsInHalfOpenState())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // Un bulkhead lleno es presión local, no un fallo de user-service
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+
+        CircuitBreaker circuitBreaker = registry.circuitBreaker(USER_SERVICE);
+        circuitBreaker.getEventPublisher().onStateTransition(event ->
+                log.warn("User Service circuit breaker: {}", event.getStateTransition()));
+        return circuitBreaker;
+    }
+
+    @Bean
+    public Bulkhead userServiceBulkhead(UserServiceProperties properties, MeterRegistry meterRegistry) {
+        UserServiceProperties.Bulkhead config = properties.getResilience().getBulkhead();
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(config.getMaxConcurrentCalls())
+                .maxWaitDuration(config.getMaxWait())
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(USER_SERVICE);
+    }
+}
@@ -0,0 +1,123 @@
+package com.tecsup.app.micro.product.infrastructure.messaging;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.BiConsumer;
+
+/**
+ * Escucha canales de PostgreSQL (LISTEN/NOTIFY) con una conexión dedicada,
+ * fuera del pool de Hikari, y reconecta automáticamente si se pierde.
+ * Tras cada (re)conexión se invoca onConnected, porque las notificaciones
+ * emitidas mientras no había conexión se pierden.
+ */
+@Slf4j
+public class PostgresNotificationListener implements AutoCloseable {
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String[] channels;
+    private final BiConsumer<String, String> handler;
+    private final Runnable onConnected;
+    private final Thread thread;
+
+    private volatile boolean running = true;
+    private volatile Connection connection;
+
+    public PostgresNotificationListener(String url,
+                                        String username,
+                                        String password,
+                                        String[] channels,
+                                        BiConsumer<String, String> handler,
+                                        Runnable onConnected) {
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channels = channels.clone();
+        this.handler = handler;
+        this.onConnected = onConnected;
+        this.thread = new Thread(this::run, "pg-listener-" + String.join("-", channels));
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    private void run() {
+        Duration backoff = Duration.ofSeconds(1);
+        while (running) {
+            try (Connection conn = DriverManager.getConnection(url, username, password)) {
+                this.connection = conn;
+                try (Statement statement = conn.createStatement()) {
+                    for (String channel : channels) {
+                        statement.execute("LISTEN " + channel);
+                    }
+                }
+                log.info("Listening PostgreSQL channels {}", String.join(", ", channels));
+                backoff = Duration.ofSeconds(1);
+                onConnected.run();
+
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_TIMEOUT.toMillis());
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        dispatch(notification);
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("PostgreSQL listener on {} disconnected: {}. Retrying in {}",
+                        String.join(", ", channels), e.getMessage(), backoff);
+                sleep(backoff);
+                backoff = backoff.multipliedBy(2).compareTo(MAX_BACKOFF) > 0 ? MAX_BACKOFF : backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    private void dispatch(PGNotification notification) {
+        try {
+            handler.accept(notification.getName(), notification.getParameter());
+        } catch (Exception e) {
+            log.error("Error handling notification on {}: {}", notification.getName(), e.getMessage());
+        }
+    }
+
+    private void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        Connection conn = this.connection;
+        if (conn != null) {
+            try {
+                conn.close();
+            } catch (SQLException e) {
+                log.debug("Error closing PostgreSQL listener connection: {}", e.getMessage());
+            }
+        }
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,153 @@
+package com.tecsup.app.micro.product.infrastructure.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tecsup.app.micro.product.domain.event.ProductChangedEvent;
+import com.tecsup.app.micro.product.infrastructure.config.ProductCacheProperties;
+import com.tecsup.app.micro.product.infrastructure.persistence.repository.CachingProductRepository;
+import com.tecsup.app.micro.product.infrastructure.persistence.entity.ProductEntity;
+import com.tecsup.app.micro.product.infrastructure.search.InMemoryProductSuggestionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Coherencia de la caché de productos entre réplicas con PostgreSQL LISTEN/NOTIFY sobre productdb
+ * Cada escritura se publica con NOTIFY dentro de su transacción (solo se entrega si hace commit)
+ * y las demás réplicas invalidan las mismas entradas en su caché local
+ * y actualizan su índice de autocompletado (y, si está activa, la caché de segundo nivel)
+ */
+@Component
+@ConditionalOnProperty(prefix = "product.cache.events", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class ProductCacheSync {
+
+    // NOTIFY admite payloads de hasta 8000 bytes; por encima se invalida todo
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+
+    // Identificador de esta réplica, para ignorar sus propios mensajes
+    private final String origin = UUID.randomUUID().toString();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ProductCacheProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectProvider<CachingProductRepository> cachingProductRepository;
+    private final ObjectProvider<InMemoryProductSuggestionRepository> suggestionRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private PostgresNotificationListener listener;
+
+    @PostConstruct
+    void start() {
+        CachingProductRepository cache = cachingProductRepository.getIfAvailable();
+        InMemoryProductSuggestionRepository suggestions = suggestionRepository.getIfAvailable();
+        boolean secondLevelCacheEnabled = Boolean.parseBoolean(String.valueOf(
+                entityManagerFactory.getProperties().get(AvailableSettings.USE_SECOND_LEVEL_CACHE)));
+        Cache secondLevelCache = secondLevelCacheEnabled
+                ? entityManagerFactory.unwrap(SessionFactory.class).getCache()
+                : null;
+        if (cache == null && suggestions == null && secondLevelCache == null) {
+            // Sin estado local no hay nada que invalidar; esta réplica solo publica
+            return;
+        }
+        listener = new PostgresNotificationListener(
+                dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(),
+                new String[] { properties.getEvents().getChannel() },
+                (channel, payload) -> onMessage(cache, suggestions, secondLevelCache, payload),
+                // Los mensajes perdidos durante una desconexión no se recuperan: se vacía la caché
+                // y se reconstruye el índice
+                () -> {
+                    if (cache != null) {
+                        cache.evictAll();
+                    }
+                    if (suggestions != null) {
+                        suggestions.rebuild();
+                    }
+                    if (secondLevelCache != null) {
+                        secondLevelCache.evictAllRegions();
+                    }
+                });
+        listener.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (listener != null) {
+            listener.close();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(new ProductChangeMessage(
+                    origin, event.getIds(), event.isAll(), event.isStockOnly()));
+            if (payload.getBytes(StandardCharsets.UTF_8).length > MAX_PAYLOAD_BYTES) {
+                payload = objectMapper.writeValueAsString(new ProductChangeMessage(origin, null, true, event.isStockOnly()));
+            }
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", String.class,
+                    properties.getEvents().getChannel(), payload);
+            log.debug("Product change notified: {}", payload);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize product change event {}: {}", event, e.getMessage());
+        }
+    }
+
+    private void onMessage(CachingProductRepository cache, InMemoryProductSuggestionRepository suggestions,
+                           Cache secondLevelCache, String payload) {
+        ProductChangeMessage message;
+        try {
+            message = objectMapper.readValue(payload, ProductChangeMessage.class);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed product change message: {}", payload);
+            return;
+        }
+        if (origin.equals(message.getOrigin())) {
+            return;
+        }
+
+        log.debug("Received product change from {}: {}", message.getOrigin(), payload);
+        // Primero la caché de Hibernate, para que las demás no se vuelvan a llenar desde ella
+        if (secondLevelCache != null) {
+            if (message.isAll()) {
+                secondLevelCache.evictEntityData(ProductEntity.class);
+            } else {
+                message.getIds().forEach(id -> secondLevelCache.evictEntityData(ProductEntity.class, id));
+            }
+            secondLevelCache.evictQueryRegions();
+        }
+        if (cache != null) {
+            if (message.isAll()) {
+                cache.evictAll();
+            } else {
+                cache.evict(message.getIds());
+            }
+        }
+        if (suggestions != null && !message.isStockOnly()) {
+            if (message.isAll()) {
+                suggestions.rebuild();
+            } else {
+                suggestions.refresh(message.getIds());
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.tecsup.app.micro.product.infrastructure.messaging;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+/**
+ * Payload JSON del NOTIFY de cambios de productos entre réplicas
+ * origin identifica al pod emisor, que ya invalidó su propia caché
+ * stockOnly: solo cambió el stock, el índice de autocompletado no se toca
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeMessage {
+
+    private String origin;
+    private Set<Long> ids;
+    private boolean all;
+    private boolean stockOnly;
+}
@@ -0,0 +1,52 @@
+package com.tecsup.app.micro.product.infrastructure.persistence.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Indicación por hilo de que las conexiones de solo lectura se tomen del primario
+ * Para las lecturas que deben ver el último commit (por ejemplo, recargas tras una invalidación),
+ * que en la réplica podrían devolver todavía la versión anterior.
+ * Solo afecta a las conexiones que se obtienen dentro del bloque
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    public static <T> T call(Supplier<T> action) {
+        boolean previous = pin();
+        try {
+            return action.get();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public static void run(Runnable action) {
+        call(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Fija el primario en el hilo actual y devuelve el estado anterior, para restore
+     */
+    public static boolean pin() {
+        boolean previous = isPinned();
+        PINNED.set(Boolean.TRUE);
+        return previous;
+    }
+
+    public static void restore(boolean previous) {
+        if (!previous) {
+            PINNED.remove();
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.tecsup.app.micro.product.infrastructure.persistence.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Conexiones de solo lectura: de la réplica mientras ReplicaLagMonitor la considera utilizable,
+ * del primario en caso contrario, si la réplica no entrega la conexión o dentro de PrimaryReads
+ */
+public class ReplicaFallbackDataSource extends DelegatingDataSource {
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter fallbacks;
+
+    public ReplicaFallbackDataSource(DataSource replica, DataSource primary,
+                                     ReplicaLagMonitor lagMonitor, Counter fallbacks) {
+        super(replica);
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        this.fallbacks = fallbacks;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (PrimaryReads.isPinned()) {
+            return primary.getConnection();
+        }
+        if (lagMonitor.isUsable()) {
+            try {
+                return super.getConnection();
+            } catch (SQLException e) {
+                lagMonitor.markUnavailable(e);
+            }
+        }
+        fallbacks.increment();
+        return primary.getConnection();
+    }
+}
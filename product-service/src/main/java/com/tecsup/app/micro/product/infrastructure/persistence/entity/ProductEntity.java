@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -14,12 +16,19 @@ import java.time.LocalDateTime;
  * Esta clase pertenece a la capa de infraestructura y maneja la persistencia
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ProductEntity.CACHE_REGION)
 @Table(name = "products", indexes = {
     @Index(name = "idx_products_category", columnList = "category"),
     @Index(name = "idx_products_created_by", columnList = "created_by"),
     @Index(name = "idx_products_price", columnList = "price"),
     @Index(name = "idx_products_stock", columnList = "stock"),
-    @Index(name = "idx_products_created_at", columnList = "created_at")
+    @Index(name = "idx_products_created_at", columnList = "created_at"),
+    @Index(name = "idx_products_price_id", columnList = "price, id"),
+    @Index(name = "idx_products_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_products_updated_at", columnList = "updated_at"),
+    @Index(name = "idx_products_category_id", columnList = "category, id"),
+    @Index(name = "idx_products_category_price_id", columnList = "category, price, id")
 })
 @Data
 @Builder
@@ -27,8 +36,16 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ProductEntity {
     
+    // Debe coincidir con el INCREMENT BY de la secuencia (migración POOLED_ID_SEQUENCE)
+    public static final String ID_SEQUENCE = "products_id_seq";
+    
+    // Región de la caché de segundo nivel (solo se usa con product.l2-cache.enabled)
+    public static final String CACHE_REGION = "products";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_id")
+    @SequenceGenerator(name = "products_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, length = 200)
@@ -55,6 +72,11 @@ public class ProductEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Bloqueo optimista: cada UPDATE incluye "WHERE version = ?" y la incrementa
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
@@ -0,0 +1,261 @@
+package com.tecsup.app.micro.product.infrastructure.persistence.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tecsup.app.micro.product.domain.model.CategoryFacet;
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductListVersion;
+import com.tecsup.app.micro.product.domain.model.ProductPage;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
+import com.tecsup.app.micro.product.domain.model.ProductSearchResult;
+import com.tecsup.app.micro.product.domain.model.ProductSummaryPage;
+import com.tecsup.app.micro.product.domain.model.ProductVersion;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import com.tecsup.app.micro.product.infrastructure.config.ProductCacheProperties;
+import com.tecsup.app.micro.product.infrastructure.persistence.datasource.PrimaryReads;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Decorador con caché (cache-aside) de productos por ID sobre el repositorio de Producto
+ * Opcional: solo se activa con product.cache.enabled=true.
+ * Las escrituras invalidan los productos afectados ahora y otra vez tras el commit,
+ * y cada invalidación avanza una generación: una carga que empezó antes de la invalidación
+ * no guarda su resultado, así que una lectura concurrente no deja en caché la versión anterior.
+ * Dentro de transacciones de escritura se lee siempre de la base de datos:
+ * así los cambios sin confirmar no se cachean y If-Match compara contra la versión real.
+ * Solo se guardan cargas hechas fuera de una transacción y leídas del primario (PrimaryReads):
+ * tras una invalidación la réplica aún puede devolver la versión anterior.
+ * Las demás réplicas se invalidan con los mensajes de ProductCacheSync.
+ * Métricas: cache.gets / cache.puts / cache.evictions con cache=products
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(prefix = "product.cache", name = "enabled", havingValue = "true")
+@Slf4j
+public class CachingProductRepository implements ProductRepository {
+    
+    private final ProductRepository delegate;
+    private final Cache<Long, Product> products;
+    
+    // Avanza antes de cada invalidación
+    private final AtomicLong generation = new AtomicLong();
+    
+    public CachingProductRepository(ProductRepositoryImpl delegate,
+                                    ProductCacheProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.products = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, products, "products");
+    }
+    
+    // Lecturas cacheadas
+    
+    @Override
+    public Optional<Product> findById(Long id) {
+        if (!cacheable()) {
+            return delegate.findById(id);
+        }
+        Product cached = products.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // La transacción de solo lectura en curso puede tener ya una conexión de la réplica
+            return delegate.findById(id);
+        }
+        long loadGeneration = generation.get();
+        Optional<Product> product = PrimaryReads.call(() -> delegate.findById(id));
+        product.ifPresent(p -> store(id, p, loadGeneration));
+        return product;
+    }
+    
+    // Escrituras: invalidación de los productos afectados
+    
+    @Override
+    public Product save(Product product) {
+        Product saved = delegate.save(product);
+        evictOnWrite(Set.of(saved.getId()));
+        return saved;
+    }
+    
+    @Override
+    public int insertAll(List<Product> newProducts) {
+        // Los productos nuevos no pueden estar en caché (solo se cachean lecturas encontradas)
+        return delegate.insertAll(newProducts);
+    }
+    
+    @Override
+    public boolean reserveStock(Long id, int quantity) {
+        boolean reserved = delegate.reserveStock(id, quantity);
+        if (reserved) {
+            evictOnWrite(Set.of(id));
+        }
+        return reserved;
+    }
+    
+    @Override
+    public boolean releaseStock(Long id, int quantity) {
+        boolean released = delegate.releaseStock(id, quantity);
+        if (released) {
+            evictOnWrite(Set.of(id));
+        }
+        return released;
+    }
+    
+    @Override
+    public void deleteById(Long id) {
+        delegate.deleteById(id);
+        evictOnWrite(Set.of(id));
+    }
+    
+    // Sin caché
+    
+    @Override
+    public List<Product> findAll() {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public ProductPage findPage(ProductQuery query) {
+        return delegate.findPage(query);
+    }
+    
+    @Override
+    public List<CategoryFacet> countByCategory(ProductQuery query) {
+        return delegate.countByCategory(query);
+    }
+    
+    @Override
+    public ProductSummaryPage findSummaryPage(ProductQuery query) {
+        return delegate.findSummaryPage(query);
+    }
+    
+    @Override
+    public ProductSearchResult searchText(ProductQuery query) {
+        return delegate.searchText(query);
+    }
+    
+    @Override
+    public void forEach(Consumer<Product> action) {
+        delegate.forEach(action);
+    }
+    
+    @Override
+    public Optional<ProductVersion> findVersionById(Long id) {
+        return delegate.findVersionById(id);
+    }
+    
+    @Override
+    public ProductListVersion findListVersion(boolean onlyAvailable, Long createdBy) {
+        return delegate.findListVersion(onlyAvailable, createdBy);
+    }
+    
+    @Override
+    public List<Product> findByCategory(String category) {
+        return delegate.findByCategory(category);
+    }
+    
+    @Override
+    public List<Product> findAvailableProducts() {
+        return delegate.findAvailableProducts();
+    }
+    
+    @Override
+    public List<Product> findByCreatedBy(Long userId) {
+        return delegate.findByCreatedBy(userId);
+    }
+    
+    @Override
+    public boolean existsById(Long id) {
+        return delegate.existsById(id);
+    }
+    
+    // Invalidación explícita (mensajes de otras réplicas)
+    
+    /**
+     * Invalida los productos dados
+     */
+    public void evict(Collection<Long> ids) {
+        evictNow(ids == null ? Set.of() : ids);
+    }
+    
+    /**
+     * Vacía toda la caché
+     */
+    public void evictAll() {
+        generation.incrementAndGet();
+        products.invalidateAll();
+    }
+    
+    // Helpers
+    
+    /**
+     * Guarda el producto leído solo si no hubo invalidaciones desde que empezó la carga.
+     * La invalidación avanza la generación antes de quitar entradas: si la comprobación
+     * posterior al put no ve el cambio, la invalidación aún no quitó nada y quitará este valor
+     */
+    private void store(Long id, Product product, long loadGeneration) {
+        if (generation.get() != loadGeneration) {
+            return;
+        }
+        products.put(id, copy(product));
+        if (generation.get() != loadGeneration) {
+            products.invalidate(id);
+        }
+    }
+    
+    /**
+     * Invalida ahora y de nuevo al confirmar la transacción
+     */
+    private void evictOnWrite(Set<Long> ids) {
+        evictNow(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(ids);
+                }
+            });
+        }
+    }
+    
+    private void evictNow(Collection<Long> ids) {
+        generation.incrementAndGet();
+        products.invalidateAll(ids);
+        log.debug("Evicted products {} from cache", ids);
+    }
+    
+    /**
+     * Solo se usa la caché fuera de transacciones o en transacciones de solo lectura
+     */
+    private static boolean cacheable() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+    
+    /**
+     * Product es mutable (los casos de uso le asignan createdByUser): se cachean y entregan copias
+     */
+    private static Product copy(Product product) {
+        return Objects.requireNonNull(product).toBuilder().build();
+    }
+}
@@ -1,21 +1,66 @@
 package com.tecsup.app.micro.product.infrastructure.persistence.repository;
 
+import com.tecsup.app.micro.product.domain.model.ProductVersion;
 import com.tecsup.app.micro.product.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio JPA de Producto
  * Interface de Spring Data JPA para operaciones de persistencia
  */
-public interface JpaProductRepository extends JpaRepository<ProductEntity, Long> {
+public interface JpaProductRepository extends JpaRepository<ProductEntity, Long>, JpaProductRepositoryCustom {
     
+    // Resultado en la caché de consultas de Hibernate cuando la caché de segundo nivel está activa
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<ProductEntity> findByCategory(String category);
     
+    // Se lanza en paralelo con la validación del usuario y no se interrumpe si esta falla:
+    // el timeout (ms) acota cuánto sigue ocupando la conexión una consulta ya descartada
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_QUERY_TIMEOUT, value = "5000"))
     List<ProductEntity> findByCreatedBy(Long userId);
     
     @Query("SELECT p FROM ProductEntity p WHERE p.stock > 0")
     List<ProductEntity> findAvailableProducts();
+    
+    @Query("SELECT new com.tecsup.app.micro.product.domain.model.ProductVersion(p.version, p.updatedAt) "
+            + "FROM ProductEntity p WHERE p.id = :id")
+    Optional<ProductVersion> findVersionById(@Param("id") Long id);
+    
+    /**
+     * Descuenta stock solo si alcanza, en una única sentencia (updated_at lo actualiza el trigger)
+     * También incrementa la versión, de modo que un PUT con un ETag anterior falle con 412
+     * Devuelve 0 si el producto no existe o no tiene stock suficiente
+     */
+    @Modifying
+    @Query("UPDATE ProductEntity p SET p.stock = p.stock - :quantity, p.version = p.version + 1 WHERE p.id = :id AND p.stock >= :quantity")
+    int reserveStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    /**
+     * Devuelve stock en una única sentencia; 0 si el producto no existe
+     */
+    @Modifying
+    @Query("UPDATE ProductEntity p SET p.stock = p.stock + :quantity, p.version = p.version + 1 WHERE p.id = :id")
+    int releaseStock(@Param("id") Long id, @Param("quantity") int quantity);
+    
+    /**
+     * Recorre toda la tabla con un cursor del servidor (fetch size) sin materializarla;
+     * debe consumirse dentro de una transacción y cerrarse al terminar
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM ProductEntity p ORDER BY p.id")
+    Stream<ProductEntity> streamAll();
 }
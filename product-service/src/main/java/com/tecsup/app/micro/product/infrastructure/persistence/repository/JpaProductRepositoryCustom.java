@@ -0,0 +1,41 @@
+package com.tecsup.app.micro.product.infrastructure.persistence.repository;
+
+import com.tecsup.app.micro.product.domain.model.CategoryFacet;
+import com.tecsup.app.micro.product.domain.model.ProductListVersion;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
+import com.tecsup.app.micro.product.domain.model.ProductSummary;
+import com.tecsup.app.micro.product.infrastructure.persistence.entity.ProductEntity;
+
+import java.util.List;
+
+/**
+ * Consultas de Producto construidas dinámicamente (Criteria API y SQL nativo para texto)
+ */
+public interface JpaProductRepositoryCustom {
+
+    /**
+     * Devuelve hasta limit + 1 productos posteriores al cursor, para saber si hay más páginas
+     */
+    List<ProductEntity> findPage(ProductQuery query);
+    
+    /**
+     * Como findPage, con una expresión constructora: las filas no pasan por el contexto de persistencia
+     */
+    List<ProductSummary> findSummaryPage(ProductQuery query);
+    
+    /**
+     * Conteo por categoría (GROUP BY category) con los demás filtros de la consulta
+     */
+    List<CategoryFacet> countByCategory(ProductQuery query);
+    
+    /**
+     * Búsqueda de texto (SQL nativo sobre search_vector): hasta limit + 1 filas posteriores
+     * al cursor (afterRank, after) ordenadas por relevancia
+     */
+    List<ProductTextMatch> searchText(ProductQuery query);
+    
+    /**
+     * count(*), sum(id), sum(version) y max(updated_at) del listado filtrado
+     */
+    ProductListVersion findListVersion(boolean onlyAvailable, Long createdBy);
+}
@@ -0,0 +1,293 @@
+package com.tecsup.app.micro.product.infrastructure.persistence.repository;
+
+import com.tecsup.app.micro.product.domain.exception.InvalidProductDataException;
+import com.tecsup.app.micro.product.domain.model.CategoryFacet;
+import com.tecsup.app.micro.product.domain.model.ProductListVersion;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
+import com.tecsup.app.micro.product.domain.model.ProductSortField;
+import com.tecsup.app.micro.product.domain.model.ProductSummary;
+import com.tecsup.app.micro.product.infrastructure.persistence.entity.ProductEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Implementación de las consultas dinámicas de Producto
+ * La paginación es por keyset: (campo de orden, id) > (valor del cursor, id del cursor),
+ * de modo que cada página es un recorrido de índice sin OFFSET.
+ * Solo se agregan los predicados de los filtros presentes, para que cada uno use su índice
+ * (category, price, stock).
+ * La búsqueda de texto usa SQL nativo: la relevancia se calcula para todas las coincidencias
+ * del índice GIN, pero ts_headline (lo más costoso) solo para las filas de la página.
+ * El texto se escapa como HTML antes de ts_headline, así el único marcado del fragmento es <mark>
+ */
+public class JpaProductRepositoryCustomImpl implements JpaProductRepositoryCustom {
+
+    private static final String HEADLINE_OPTIONS =
+            "StartSel=<mark>, StopSel=</mark>, MaxWords=25, MinWords=8, MaxFragments=2";
+
+    // El parser de PostgreSQL trata cada entidad (&lt;, &amp;...) como un token: ts_headline no la parte
+    private static final String HEADLINE_TEXT = htmlEscaped("p.name || ' ' || coalesce(p.description, '')");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductEntity> findPage(ProductQuery query) {
+        return findPage(query, ProductEntity.class, (cb, product) -> product);
+    }
+
+    @Override
+    public List<ProductSummary> findSummaryPage(ProductQuery query) {
+        return findPage(query, ProductSummary.class, (cb, product) -> cb.construct(ProductSummary.class,
+                product.get("id"),
+                product.get("name"),
+                product.get("description"),
+                product.get("price"),
+                product.get("stock"),
+                product.get("category"),
+                product.get("createdBy"),
+                product.get("createdAt"),
+                product.get("updatedAt"),
+                product.get("version")));
+    }
+
+    private <T> List<T> findPage(ProductQuery query, Class<T> resultType,
+                                 BiFunction<CriteriaBuilder, Root<ProductEntity>, Selection<T>> selection) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<T> cq = cb.createQuery(resultType);
+        Root<ProductEntity> product = cq.from(ProductEntity.class);
+
+        List<Predicate> predicates = filters(cb, product, query, true);
+        if (query.getAfter() != null) {
+            predicates.add(afterCursor(cb, product, query));
+        }
+
+        Path<Comparable<Object>> sortPath = product.get(attributeOf(query.getSort()));
+        Path<Long> idPath = product.get("id");
+        cq.select(selection.apply(cb, product))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(query.isDescending()
+                        ? List.of(cb.desc(sortPath), cb.desc(idPath))
+                        : List.of(cb.asc(sortPath), cb.asc(idPath)));
+
+        return entityManager.createQuery(cq)
+                .setMaxResults(query.getLimit() + 1)
+                .getResultList();
+    }
+
+    @Override
+    public List<CategoryFacet> countByCategory(ProductQuery query) {
+        if (query.getText() != null) {
+            return countTextMatchesByCategory(query);
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CategoryFacet> cq = cb.createQuery(CategoryFacet.class);
+        Root<ProductEntity> product = cq.from(ProductEntity.class);
+        
+        Path<String> category = product.get("category");
+        Expression<Long> count = cb.count(product);
+        cq.select(cb.construct(CategoryFacet.class, category, count))
+                .where(filters(cb, product, query, false).toArray(Predicate[]::new))
+                .groupBy(category)
+                .orderBy(cb.desc(count), cb.asc(category));
+        return entityManager.createQuery(cq).getResultList();
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<ProductTextMatch> searchText(ProductQuery query) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder matches = new StringBuilder(
+                "SELECT p.id, ts_rank_cd(p.search_vector, q.query) AS rank FROM products p, q " +
+                "WHERE p.search_vector @@ q.query");
+        appendTextFilters(matches, params, query, true);
+
+        StringBuilder page = new StringBuilder("SELECT id, rank FROM matches");
+        if (query.getAfter() != null) {
+            if (query.getAfterRank() == null) {
+                throw new InvalidProductDataException("afterRank is required with after when searching by text");
+            }
+            page.append(" WHERE rank < CAST(:afterRank AS real)" +
+                    " OR (rank = CAST(:afterRank AS real) AND id > :after)");
+            params.put("afterRank", query.getAfterRank());
+            params.put("after", query.getAfter());
+        }
+        page.append(" ORDER BY rank DESC, id LIMIT :limit");
+        params.put("limit", query.getLimit() + 1);
+
+        String sql = textQueryCte(query, params) + ", matches AS (" + matches + ") " +
+                "SELECT {p.*}, page.rank AS rank, " +
+                "ts_headline('simple', " + HEADLINE_TEXT + ", q.query, '" + HEADLINE_OPTIONS + "') AS highlight " +
+                "FROM (" + page + ") page JOIN products p ON p.id = page.id CROSS JOIN q " +
+                "ORDER BY page.rank DESC, page.id";
+
+        NativeQuery<Object[]> nativeQuery = entityManager.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addEntity("p", ProductEntity.class)
+                .addScalar("rank", StandardBasicTypes.FLOAT)
+                .addScalar("highlight", StandardBasicTypes.STRING);
+        params.forEach(nativeQuery::setParameter);
+
+        return nativeQuery.getResultList().stream()
+                .map(row -> new ProductTextMatch((ProductEntity) row[0], (Float) row[1], (String) row[2]))
+                .toList();
+    }
+
+    @Override
+    public ProductListVersion findListVersion(boolean onlyAvailable, Long createdBy) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductListVersion> cq = cb.createQuery(ProductListVersion.class);
+        Root<ProductEntity> product = cq.from(ProductEntity.class);
+        
+        List<Predicate> predicates = new ArrayList<>();
+        if (onlyAvailable) {
+            predicates.add(cb.gt(product.get("stock"), 0));
+        }
+        if (createdBy != null) {
+            predicates.add(cb.equal(product.get("createdBy"), createdBy));
+        }
+        
+        cq.select(cb.construct(ProductListVersion.class,
+                        cb.count(product),
+                        cb.coalesce(cb.sum(product.<Long>get("id")), 0L),
+                        cb.coalesce(cb.sum(product.<Long>get("version")), 0L),
+                        cb.greatest(product.<LocalDateTime>get("updatedAt"))))
+                .where(predicates.toArray(Predicate[]::new));
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<CategoryFacet> countTextMatchesByCategory(ProductQuery query) {
+        Map<String, Object> params = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(textQueryCte(query, params))
+                .append(" SELECT p.category, count(*) FROM products p, q WHERE p.search_vector @@ q.query");
+        appendTextFilters(sql, params, query, false);
+        sql.append(" GROUP BY p.category ORDER BY 2 DESC, 1");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString());
+        params.forEach(nativeQuery::setParameter);
+        List<Object[]> rows = nativeQuery.getResultList();
+        return rows.stream()
+                .map(row -> new CategoryFacet((String) row[0], ((Number) row[1]).longValue()))
+                .toList();
+    }
+
+    /**
+     * Expresión SQL con los caracteres especiales de HTML de la expresión dada escapados
+     * (& primero, para no escapar otra vez las entidades que se generan después)
+     */
+    private static String htmlEscaped(String expression) {
+        return "replace(replace(replace(replace(replace(" + expression + ", "
+                + "'&', '&amp;'), '<', '&lt;'), '>', '&gt;'), '\"', '&quot;'), '''', '&#39;')";
+    }
+
+    private String textQueryCte(ProductQuery query, Map<String, Object> params) {
+        String tsquery = ProductTextQueries.toPrefixQuery(query.getText());
+        if (tsquery == null) {
+            throw new InvalidProductDataException("Search text must contain letters or digits");
+        }
+        params.put("tsquery", tsquery);
+        return "WITH q AS (SELECT to_tsquery('simple', :tsquery) AS query)";
+    }
+
+    /**
+     * Los mismos filtros que {@link #filters}, en SQL nativo
+     */
+    private void appendTextFilters(StringBuilder sql, Map<String, Object> params,
+                                   ProductQuery query, boolean includeCategory) {
+        if (query.isOnlyAvailable()) {
+            sql.append(" AND p.stock > 0");
+        }
+        if (includeCategory && query.getCategory() != null) {
+            sql.append(" AND p.category = :category");
+            params.put("category", query.getCategory());
+        }
+        if (query.getMinPrice() != null) {
+            sql.append(" AND p.price >= :minPrice");
+            params.put("minPrice", query.getMinPrice());
+        }
+        if (query.getMaxPrice() != null) {
+            sql.append(" AND p.price <= :maxPrice");
+            params.put("maxPrice", query.getMaxPrice());
+        }
+    }
+
+    /**
+     * Predicados de los filtros presentes en la consulta
+     * Las facetas excluyen la categoría para contar todas las alternativas
+     */
+    private List<Predicate> filters(CriteriaBuilder cb, Root<ProductEntity> product,
+                                    ProductQuery query, boolean includeCategory) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (query.isOnlyAvailable()) {
+            predicates.add(cb.gt(product.get("stock"), 0));
+        }
+        if (includeCategory && query.getCategory() != null) {
+            predicates.add(cb.equal(product.get("category"), query.getCategory()));
+        }
+        Path<BigDecimal> price = product.get("price");
+        if (query.getMinPrice() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(price, query.getMinPrice()));
+        }
+        if (query.getMaxPrice() != null) {
+            predicates.add(cb.lessThanOrEqualTo(price, query.getMaxPrice()));
+        }
+        return predicates;
+    }
+    
+    /**
+     * Condición keyset: las filas estrictamente posteriores a (afterValue, after)
+     * en el orden (campo, id). El valor viaja en el cursor, no se relee el producto,
+     * así la página siguiente funciona aunque esa fila se haya borrado
+     */
+    private Predicate afterCursor(CriteriaBuilder cb, Root<ProductEntity> product, ProductQuery query) {
+        Path<Long> idPath = product.get("id");
+        Long afterId = query.getAfter();
+
+        if (query.getSort() == ProductSortField.ID) {
+            return query.isDescending() ? cb.lt(idPath, afterId) : cb.gt(idPath, afterId);
+        }
+
+        if (query.getAfterValue() == null) {
+            throw new InvalidProductDataException("afterValue is required with after when sorting by "
+                    + query.getSort().getParam());
+        }
+        @SuppressWarnings("unchecked")
+        Comparable<Object> anchor = (Comparable<Object>) query.getSort().parseCursorValue(query.getAfterValue());
+        Path<Comparable<Object>> sortPath = product.get(attributeOf(query.getSort()));
+        if (query.isDescending()) {
+            return cb.or(
+                    cb.lessThan(sortPath, anchor),
+                    cb.and(cb.equal(sortPath, anchor), cb.lt(idPath, afterId)));
+        }
+        return cb.or(
+                cb.greaterThan(sortPath, anchor),
+                cb.and(cb.equal(sortPath, anchor), cb.gt(idPath, afterId)));
+    }
+
+    private String attributeOf(ProductSortField sort) {
+        return switch (sort) {
+            case ID -> "id";
+            case CREATED_AT -> "createdAt";
+            case PRICE -> "price";
+        };
+    }
+}
@@ -1,27 +1,64 @@
 package com.tecsup.app.micro.product.infrastructure.persistence.repository;
 
+import com.tecsup.app.micro.product.domain.model.CategoryFacet;
 import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductListVersion;
+import com.tecsup.app.micro.product.domain.model.ProductPage;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
+import com.tecsup.app.micro.product.domain.model.ProductSearchResult;
+import com.tecsup.app.micro.product.domain.model.ProductSummary;
+import com.tecsup.app.micro.product.domain.model.ProductSummaryPage;
+import com.tecsup.app.micro.product.domain.model.ProductVersion;
 import com.tecsup.app.micro.product.domain.repository.ProductRepository;
 import com.tecsup.app.micro.product.infrastructure.persistence.entity.ProductEntity;
 import com.tecsup.app.micro.product.infrastructure.persistence.mapper.ProductPersistenceMapper;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementación del repositorio de Producto (Adaptador)
  * Conecta el dominio con la infraestructura de persistencia usando MapStruct
+ * Cada lectura es una transacción corta de solo lectura (o se une a la del llamador):
+ * la conexión vuelve al pool en cuanto termina la consulta, antes de cualquier llamada remota
  */
 @Repository
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Slf4j
 public class ProductRepositoryImpl implements ProductRepository {
     
+    // created_at y updated_at toman los valores por defecto de la tabla
+    private static final String COPY_PRODUCTS_SQL =
+            "COPY products (id, name, description, price, stock, category, created_by) FROM STDIN WITH (FORMAT csv)";
+    
+    private static final String ALLOCATE_IDS_SQL =
+            "SELECT nextval('" + ProductEntity.ID_SEQUENCE + "') FROM generate_series(1, ?)";
+    
     private final JpaProductRepository jpaProductRepository;
     private final ProductPersistenceMapper mapper;
+    private final EntityManager entityManager;
     
     @Override
     public List<Product> findAll() {
@@ -29,6 +66,75 @@ public class ProductRepositoryImpl implements ProductRepository {
         return mapper.toDomainList(jpaProductRepository.findAll());
     }
     
+    @Override
+    public ProductPage findPage(ProductQuery query) {
+        log.debug("Finding product page: {}", query);
+        List<ProductEntity> entities = jpaProductRepository.findPage(query);
+        boolean hasMore = entities.size() > query.getLimit();
+        if (hasMore) {
+            entities = entities.subList(0, query.getLimit());
+        }
+        if (!hasMore) {
+            return new ProductPage(mapper.toDomainList(entities), null, null);
+        }
+        ProductEntity last = entities.get(entities.size() - 1);
+        return new ProductPage(mapper.toDomainList(entities), last.getId(),
+                query.getSort().cursorValue(last.getPrice(), last.getCreatedAt()));
+    }
+    
+    @Override
+    public ProductSummaryPage findSummaryPage(ProductQuery query) {
+        log.debug("Finding product summary page: {}", query);
+        List<ProductSummary> summaries = jpaProductRepository.findSummaryPage(query);
+        if (summaries.size() <= query.getLimit()) {
+            return new ProductSummaryPage(summaries, null, null);
+        }
+        // Vista sobre la misma lista: no se copia la página
+        List<ProductSummary> items = summaries.subList(0, query.getLimit());
+        ProductSummary last = items.get(items.size() - 1);
+        return new ProductSummaryPage(items, last.getId(),
+                query.getSort().cursorValue(last.getPrice(), last.getCreatedAt()));
+    }
+    
+    @Override
+    public List<CategoryFacet> countByCategory(ProductQuery query) {
+        log.debug("Counting products by category: {}", query);
+        return jpaProductRepository.countByCategory(query);
+    }
+    
+    @Override
+    public ProductSearchResult searchText(ProductQuery query) {
+        log.debug("Searching products by text: {}", query);
+        List<ProductTextMatch> matches = jpaProductRepository.searchText(query);
+        boolean hasMore = matches.size() > query.getLimit();
+        if (hasMore) {
+            matches = matches.subList(0, query.getLimit());
+        }
+        
+        Map<Long, String> highlights = new LinkedHashMap<>();
+        matches.forEach(match -> highlights.put(match.product().getId(), match.highlight()));
+        ProductTextMatch last = hasMore ? matches.get(matches.size() - 1) : null;
+        
+        return ProductSearchResult.builder()
+                .items(mapper.toDomainList(matches.stream().map(ProductTextMatch::product).toList()))
+                .nextCursor(last != null ? last.product().getId() : null)
+                .nextRank(last != null ? last.rank() : null)
+                .highlights(highlights)
+                .build();
+    }
+    
+    @Override
+    public void forEach(Consumer<Product> action) {
+        log.debug("Streaming all products");
+        try (Stream<ProductEntity> entities = jpaProductRepository.streamAll()) {
+            entities.forEach(entity -> {
+                action.accept(mapper.toDomain(entity));
+                // Sin detach el contexto de persistencia retendría cada fila leída
+                entityManager.detach(entity);
+            });
+        }
+    }
+    
     @Override
     public Optional<Product> findById(Long id) {
         log.debug("Finding product by id: {}", id);
@@ -36,6 +142,18 @@ public class ProductRepositoryImpl implements ProductRepository {
                 .map(mapper::toDomain);
     }
     
+    @Override
+    public Optional<ProductVersion> findVersionById(Long id) {
+        log.debug("Finding product version by id: {}", id);
+        return jpaProductRepository.findVersionById(id);
+    }
+    
+    @Override
+    public ProductListVersion findListVersion(boolean onlyAvailable, Long createdBy) {
+        log.debug("Finding product list version (available: {}, createdBy: {})", onlyAvailable, createdBy);
+        return jpaProductRepository.findListVersion(onlyAvailable, createdBy);
+    }
+    
     @Override
     public List<Product> findByCategory(String category) {
         log.debug("Finding products by category: {}", category);
@@ -55,14 +173,110 @@ public class ProductRepositoryImpl implements ProductRepository {
     }
     
     @Override
+    @Transactional
     public Product save(Product product) {
         log.debug("Saving product: {}", product.getName());
         ProductEntity entity = mapper.toEntity(product);
-        ProductEntity savedEntity = jpaProductRepository.save(entity);
+        // flush para devolver la versión y updated_at definitivos (el UPDATE valida la versión)
+        ProductEntity savedEntity = jpaProductRepository.saveAndFlush(entity);
         return mapper.toDomain(savedEntity);
     }
     
+    /**
+     * Carga con el protocolo COPY de PostgreSQL sobre la conexión de la transacción actual
+     * Los IDs se reservan por bloques de la misma secuencia pooled que usa Hibernate
+     */
     @Override
+    @Transactional
+    public int insertAll(List<Product> products) {
+        log.debug("Bulk inserting {} products", products.size());
+        evictQueryResultsOnCommit();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            long[] ids = allocateIds(connection, products.size());
+            StringBuilder csv = new StringBuilder(products.size() * 128);
+            for (int i = 0; i < products.size(); i++) {
+                Product product = products.get(i);
+                csv.append(ids[i]).append(',');
+                appendCsvText(csv, product.getName()).append(',');
+                appendCsvText(csv, product.getDescription()).append(',');
+                csv.append(product.getPrice().toPlainString()).append(',');
+                csv.append(product.getStock()).append(',');
+                appendCsvText(csv, product.getCategory()).append(',');
+                if (product.getCreatedBy() != null) {
+                    csv.append(product.getCreatedBy());
+                }
+                csv.append('\n');
+            }
+            
+            CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+            try {
+                return (int) copyManager.copyIn(COPY_PRODUCTS_SQL, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("COPY into products failed", e);
+            }
+        });
+    }
+    
+    /**
+     * COPY no pasa por Hibernate: los resultados de consultas en la caché de segundo nivel
+     * (findByCategory) se descartan ahora y otra vez tras el commit
+     */
+    private void evictQueryResultsOnCommit() {
+        org.hibernate.Cache cache = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getCache();
+        cache.evictQueryRegions();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evictQueryRegions();
+                }
+            });
+        }
+    }
+    
+    /**
+     * Cada nextval reserva el bloque (valor - allocationSize, valor], igual que el optimizador pooled;
+     * los valores menores que allocationSize (secuencia recién creada) se descartan
+     */
+    private long[] allocateIds(Connection connection, int count) throws SQLException {
+        long[] ids = new long[count];
+        int filled = 0;
+        try (PreparedStatement statement = connection.prepareStatement(ALLOCATE_IDS_SQL)) {
+            while (filled < count) {
+                int blocks = (count - filled + ProductEntity.ID_ALLOCATION_SIZE - 1) / ProductEntity.ID_ALLOCATION_SIZE;
+                statement.setInt(1, blocks);
+                try (ResultSet rs = statement.executeQuery()) {
+                    while (rs.next() && filled < count) {
+                        long hi = rs.getLong(1);
+                        if (hi < ProductEntity.ID_ALLOCATION_SIZE) {
+                            continue;
+                        }
+                        for (long id = hi - ProductEntity.ID_ALLOCATION_SIZE + 1; id <= hi && filled < count; id++) {
+                            ids[filled++] = id;
+                        }
+                    }
+                }
+            }
+        }
+        return ids;
+    }
+    
+    @Override
+    @Transactional
+    public boolean reserveStock(Long id, int quantity) {
+        log.debug("Reserving {} units of product {}", quantity, id);
+        return jpaProductRepository.reserveStock(id, quantity) == 1;
+    }
+    
+    @Override
+    @Transactional
+    public boolean releaseStock(Long id, int quantity) {
+        log.debug("Releasing {} units of product {}", quantity, id);
+        return jpaProductRepository.releaseStock(id, quantity) == 1;
+    }
+    
+    @Override
+    @Transactional
     public void deleteById(Long id) {
         log.debug("Deleting product by id: {}", id);
         jpaProductRepository.deleteById(id);
@@ -73,4 +287,14 @@ public class ProductRepositoryImpl implements ProductRepository {
         log.debug("Checking if product exists: {}", id);
         return jpaProductRepository.existsById(id);
     }
+    
+    /**
+     * En CSV de COPY un campo vacío sin comillas es NULL; los textos van siempre entre comillas
+     */
+    private static StringBuilder appendCsvText(StringBuilder csv, String value) {
+        if (value != null) {
+            csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+        }
+        return csv;
+    }
 }
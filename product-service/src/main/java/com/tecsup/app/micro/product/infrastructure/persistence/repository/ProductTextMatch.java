@@ -0,0 +1,9 @@
+package com.tecsup.app.micro.product.infrastructure.persistence.repository;
+
+import com.tecsup.app.micro.product.infrastructure.persistence.entity.ProductEntity;
+
+/**
+ * Fila de la búsqueda de texto: el producto, su relevancia (ts_rank_cd) y el fragmento resaltado
+ */
+public record ProductTextMatch(ProductEntity product, float rank, String highlight) {
+}
@@ -0,0 +1,36 @@
+package com.tecsup.app.micro.product.infrastructure.persistence.repository;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/**
+ * Construye la consulta tsquery a partir del texto del usuario
+ * Solo se conservan letras y dígitos, así el texto nunca se interpreta como operadores de tsquery
+ */
+final class ProductTextQueries {
+
+    static final int MAX_TERMS = 8;
+
+    // Los términos de un carácter no se expanden: un prefijo tan corto coincide con casi todo el catálogo
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    private ProductTextQueries() {
+    }
+
+    /**
+     * "Laptop gam" -> "laptop:* & gam:*"; null si no hay términos utilizables
+     */
+    static String toPrefixQuery(String text) {
+        if (text == null) {
+            return null;
+        }
+        String tsquery = Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .map(term -> term.length() >= MIN_PREFIX_LENGTH ? term + ":*" : term)
+                .collect(Collectors.joining(" & "));
+        return tsquery.isEmpty() ? null : tsquery;
+    }
+}
@@ -0,0 +1,146 @@
+package com.tecsup.app.micro.product.infrastructure.search;
+
+import com.tecsup.app.micro.product.domain.event.ProductChangedEvent;
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductSuggestion;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import com.tecsup.app.micro.product.domain.repository.ProductSuggestionRepository;
+import com.tecsup.app.micro.product.infrastructure.persistence.datasource.PrimaryReads;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Autocompletado servido desde un índice de prefijos en memoria (sin ida y vuelta a la base de datos)
+ * Se construye al arrancar recorriendo el catálogo con el cursor de ProductRepository.forEach,
+ * se actualiza tras el commit de cada escritura local y, en las demás réplicas, con los mensajes
+ * de ProductCacheSync. Mientras se reconstruye se sigue respondiendo con el índice anterior.
+ * Todas las lecturas van al primario: tras una invalidación la réplica aún puede tener la fila anterior.
+ * Métricas: product.suggest.index.bytes (estimado), product.suggest.index.products y .tokens
+ */
+@Repository
+@Slf4j
+public class InMemoryProductSuggestionRepository implements ProductSuggestionRepository {
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService rebuilder =
+            Executors.newSingleThreadExecutor(Thread.ofVirtual().name("product-suggest-rebuild").factory());
+
+    private volatile ProductPrefixIndex index = new ProductPrefixIndex();
+
+    // IDs modificados durante una reconstrucción, que se vuelven a aplicar sobre el índice nuevo
+    private volatile Set<Long> changedWhileRebuilding;
+
+    public InMemoryProductSuggestionRepository(ProductRepository productRepository,
+                                               PlatformTransactionManager transactionManager,
+                                               MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        Gauge.builder("product.suggest.index.bytes", this, repository -> repository.index.estimatedBytes())
+                .description("Estimated heap used by the product suggestion index")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("product.suggest.index.products", this, repository -> repository.index.size())
+                .register(meterRegistry);
+        Gauge.builder("product.suggest.index.tokens", this, repository -> repository.index.tokenCount())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<ProductSuggestion> suggest(String prefix, int limit) {
+        return index.suggest(prefix, limit);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Las reservas y liberaciones de stock no cambian nombre ni categoría: no se relee nada
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.isStockOnly()) {
+            return;
+        }
+        if (event.isAll()) {
+            rebuild();
+        } else {
+            refresh(event.getIds());
+        }
+    }
+
+    /**
+     * Vuelve a leer los productos indicados: los que ya no existen salen del índice
+     */
+    public void refresh(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        Set<Long> pending = changedWhileRebuilding;
+        if (pending != null) {
+            pending.addAll(ids);
+        }
+        ProductPrefixIndex current = index;
+        PrimaryReads.run(() -> {
+            for (Long id : ids) {
+                Optional<Product> product = productRepository.findById(id);
+                if (product.isPresent()) {
+                    current.put(id, product.get().getName(), product.get().getCategory());
+                } else {
+                    current.remove(id);
+                }
+            }
+        });
+    }
+
+    /**
+     * Reconstruye el índice en segundo plano y lo reemplaza al terminar
+     */
+    public void rebuild() {
+        rebuilder.execute(() -> {
+            changedWhileRebuilding = ConcurrentHashMap.newKeySet();
+            try {
+                long start = System.nanoTime();
+                ProductPrefixIndex rebuilt = new ProductPrefixIndex();
+                PrimaryReads.run(() -> readOnlyTransaction.executeWithoutResult(status -> productRepository.forEach(
+                        product -> rebuilt.put(product.getId(), product.getName(), product.getCategory()))));
+                index = rebuilt;
+                log.info("Product suggestion index built: {} products, {} tokens, ~{} KB in {} ms",
+                        rebuilt.size(), rebuilt.tokenCount(), rebuilt.estimatedBytes() / 1024,
+                        (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.error("Could not build product suggestion index: {}", e.getMessage());
+            } finally {
+                Set<Long> pending = changedWhileRebuilding;
+                changedWhileRebuilding = null;
+                refresh(pending);
+            }
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        rebuilder.shutdownNow();
+    }
+}
@@ -0,0 +1,185 @@
+package com.tecsup.app.micro.product.infrastructure.search;
+
+import com.tecsup.app.micro.product.domain.model.ProductSuggestion;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria: término -> IDs de producto, ordenado para buscar por prefijo
+ * Los términos salen del nombre y la categoría, en minúsculas y sin tildes, y se guardan una sola vez
+ * (las entradas comparten la misma instancia); los IDs de cada término son un long[] ordenado.
+ * Las lecturas no bloquean; las escrituras se serializan y reemplazan los arreglos (copy-on-write)
+ */
+class ProductPrefixIndex {
+
+    // Tope de IDs revisados por consulta: un prefijo de una letra no recorre todo el catálogo
+    static final int MAX_SCANNED = 10_000;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+
+    // Estimación de la ocupación en bytes (JVM de 64 bits con compressed oops)
+    private static final int TOKEN_OVERHEAD = 120;
+    private static final int ENTRY_OVERHEAD = 150;
+
+    private record Entry(String name, String category, String[] tokens) {
+    }
+
+    private final NavigableMap<String, long[]> tokens = new ConcurrentSkipListMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, String> categories = new ConcurrentHashMap<>();
+    private volatile long estimatedBytes;
+
+    synchronized void put(long id, String name, String category) {
+        remove(id);
+        String sharedCategory = category == null ? null : categories.computeIfAbsent(category, c -> c);
+        Set<String> terms = new LinkedHashSet<>(tokenize(name));
+        terms.addAll(tokenize(category));
+
+        String[] canonical = new String[terms.size()];
+        int i = 0;
+        for (String term : terms) {
+            canonical[i++] = addId(term, id);
+        }
+        entries.put(id, new Entry(name, sharedCategory, canonical));
+        estimatedBytes += ENTRY_OVERHEAD + (name == null ? 0 : name.length()) + 4L * canonical.length;
+    }
+
+    synchronized void remove(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        for (String term : entry.tokens()) {
+            removeId(term, id);
+        }
+        estimatedBytes -= ENTRY_OVERHEAD + (entry.name() == null ? 0 : entry.name().length())
+                + 4L * entry.tokens().length;
+    }
+
+    /**
+     * El último término se busca como prefijo; los anteriores deben ser prefijo de algún término del producto
+     */
+    List<ProductSuggestion> suggest(String prefix, int limit) {
+        List<String> terms = tokenize(prefix);
+        if (terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        String last = terms.get(terms.size() - 1);
+        List<String> others = terms.subList(0, terms.size() - 1);
+
+        List<ProductSuggestion> result = new ArrayList<>(limit);
+        Set<Long> seen = new HashSet<>();
+        int scanned = 0;
+        for (long[] ids : tokens.subMap(last, true, last + Character.MAX_VALUE, true).values()) {
+            for (long id : ids) {
+                if (++scanned > MAX_SCANNED) {
+                    return result;
+                }
+                if (!seen.add(id)) {
+                    continue;
+                }
+                Entry entry = entries.get(id);
+                if (entry != null && matchesAll(entry, others)) {
+                    result.add(new ProductSuggestion(id, entry.name(), entry.category()));
+                    if (result.size() == limit) {
+                        return result;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    int tokenCount() {
+        return tokens.size();
+    }
+
+    long estimatedBytes() {
+        return estimatedBytes;
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return Arrays.stream(SEPARATORS.split(normalized.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .toList();
+    }
+
+    private static boolean matchesAll(Entry entry, List<String> prefixes) {
+        for (String prefix : prefixes) {
+            boolean found = false;
+            for (String token : entry.tokens()) {
+                if (token.startsWith(prefix)) {
+                    found = true;
+                    break;
+                }
+            }
+            if (!found) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Agrega el ID al término y devuelve la instancia compartida del término
+     */
+    private String addId(String term, long id) {
+        Map.Entry<String, long[]> existing = tokens.ceilingEntry(term);
+        if (existing == null || !existing.getKey().equals(term)) {
+            tokens.put(term, new long[] { id });
+            estimatedBytes += TOKEN_OVERHEAD + term.length() + 8;
+            return term;
+        }
+        long[] ids = existing.getValue();
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            int insert = -pos - 1;
+            long[] updated = new long[ids.length + 1];
+            System.arraycopy(ids, 0, updated, 0, insert);
+            updated[insert] = id;
+            System.arraycopy(ids, insert, updated, insert + 1, ids.length - insert);
+            tokens.put(existing.getKey(), updated);
+            estimatedBytes += 8;
+        }
+        return existing.getKey();
+    }
+
+    private void removeId(String term, long id) {
+        long[] ids = tokens.get(term);
+        int pos = ids == null ? -1 : Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            return;
+        }
+        if (ids.length == 1) {
+            tokens.remove(term);
+            estimatedBytes -= TOKEN_OVERHEAD + term.length() + 8;
+            return;
+        }
+        long[] updated = new long[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, pos);
+        System.arraycopy(ids, pos + 1, updated, pos, ids.length - pos - 1);
+        tokens.put(term, updated);
+        estimatedBytes -= 8;
+    }
+}
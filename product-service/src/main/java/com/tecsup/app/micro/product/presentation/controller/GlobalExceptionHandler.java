@@ -1,12 +1,15 @@
 package com.tecsup.app.micro.product.presentation.controller;
 
+import com.tecsup.app.micro.product.domain.exception.InsufficientStockException;
 import com.tecsup.app.micro.product.domain.exception.InvalidProductDataException;
 import com.tecsup.app.micro.product.domain.exception.ProductNotFoundException;
+import com.tecsup.app.micro.product.domain.exception.ProductVersionConflictException;
 import com.tecsup.app.micro.product.domain.exception.UserNotFoundException;
 import com.tecsup.app.micro.product.domain.exception.UserServiceException;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -67,6 +70,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
     
+    /**
+     * Maneja InsufficientStockException
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ErrorResponse> handleInsufficientStockException(InsufficientStockException ex) {
+        log.warn("Insufficient stock: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.CONFLICT.value(),
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+    
+    /**
+     * Maneja ProductVersionConflictException y los conflictos detectados por @Version al guardar
+     */
+    @ExceptionHandler({ProductVersionConflictException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handleVersionConflict(RuntimeException ex) {
+        log.warn("Version conflict: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                ex instanceof ProductVersionConflictException
+                        ? ex.getMessage()
+                        : "Product was modified by another request (version mismatch)",
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+    
     /**
      * Maneja UserServiceException
      */
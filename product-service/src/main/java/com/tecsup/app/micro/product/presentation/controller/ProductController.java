@@ -1,19 +1,57 @@
 package com.tecsup.app.micro.product.presentation.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.tecsup.app.micro.product.application.service.ProductApplicationService;
+import com.tecsup.app.micro.product.application.usecase.SuggestProductsUseCase;
+import com.tecsup.app.micro.product.domain.exception.InvalidProductDataException;
+import com.tecsup.app.micro.product.domain.exception.ProductVersionConflictException;
 import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductImportReport;
+import com.tecsup.app.micro.product.domain.model.ProductListVersion;
+import com.tecsup.app.micro.product.domain.model.ProductPage;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
+import com.tecsup.app.micro.product.domain.model.ProductSearchResult;
+import com.tecsup.app.micro.product.domain.model.ProductSummary;
+import com.tecsup.app.micro.product.domain.model.ProductSummaryPage;
+import com.tecsup.app.micro.product.domain.model.ProductSortField;
+import com.tecsup.app.micro.product.domain.model.ProductVersion;
+import com.tecsup.app.micro.product.domain.model.StockItem;
 import com.tecsup.app.micro.product.presentation.dto.CreateProductRequest;
+import com.tecsup.app.micro.product.presentation.dto.ProductImportResponse;
 import com.tecsup.app.micro.product.presentation.dto.ProductResponse;
+import com.tecsup.app.micro.product.presentation.dto.ProductSearchResponse;
+import com.tecsup.app.micro.product.presentation.dto.ProductSuggestionResponse;
+import com.tecsup.app.micro.product.presentation.dto.StockBatchRequest;
+import com.tecsup.app.micro.product.presentation.dto.StockChangeRequest;
 import com.tecsup.app.micro.product.presentation.dto.UpdateProductRequest;
 import com.tecsup.app.micro.product.presentation.mapper.ProductDtoMapper;
+import com.tecsup.app.micro.product.presentation.mapper.ProductRecordParser;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controlador REST de Productos
@@ -24,48 +62,234 @@ import java.util.List;
 @Slf4j
 public class ProductController {
     
+    // Valor de ?expand= que resuelve el usuario creador en las listas
+    private static final String EXPAND_CREATED_BY_USER = "createdByUser";
+    
+    // Cabecera con el cursor de la siguiente página (ausente en la última)
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    
+    // Valor del campo de orden del último resultado, si no se ordena por id (acompaña a X-Next-Cursor)
+    private static final String NEXT_VALUE_HEADER = "X-Next-Value";
+    
+    // Relevancia del último resultado, solo en búsquedas de texto (acompaña a X-Next-Cursor)
+    private static final String NEXT_RANK_HEADER = "X-Next-Rank";
+    
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    
     private final ProductApplicationService productApplicationService;
     
     // Mapper para convertir entre DTOs de presentación y modelo de dominio
     private final ProductDtoMapper productDtoMapper;
     
+    private final ObjectMapper objectMapper;
+    
+    private final ProductRecordParser productRecordParser;
+    
     /**
-     * Obtiene todos los productos
+     * Obtiene todos los productos, paginados por cursor
+     * ?after=<id>&afterValue=&limit=&sort=id|createdAt|price&direction=asc|desc
+     * (afterValue acompaña a after cuando sort no es id; ambos vienen en el Link rel="next")
+     * Responde 304 si el listado no cambió (If-None-Match / If-Modified-Since)
+     * y las filas se proyectan directamente a la vista plana, que se serializa sin más copias
      */
     @GetMapping
-    public ResponseEntity<List<ProductResponse>> getAllProducts() {
-        log.info("REST request to get all products");
-        List<Product> products = productApplicationService.getAllProducts();
-        return ResponseEntity.ok(productDtoMapper.toResponseList(products));
+    public ResponseEntity<List<ProductSummary>> getAllProducts(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String afterValue,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            WebRequest webRequest) {
+        log.info("REST request to get all products (after: {}, limit: {})", after, limit);
+        if (notModified(webRequest, productApplicationService.getProductListVersion(false, null))) {
+            return null;
+        }
+        ProductQuery query = toQuery(after, afterValue, limit, sort, direction);
+        return pageResponse(productApplicationService.getProductSummaries(query));
+    }
+    
+    /**
+     * Obtiene todos los productos con ?expand, paginados por cursor
+     * Con ?expand=createdByUser se incluye el usuario creador de cada producto
+     */
+    @GetMapping(params = "expand")
+    public ResponseEntity<List<ProductResponse>> getAllProductsExpanded(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String afterValue,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam Set<String> expand) {
+        log.info("REST request to get all products (after: {}, limit: {}, expand: {})", after, limit, expand);
+        ProductQuery query = toQuery(after, afterValue, limit, sort, direction);
+        return pageResponse(productApplicationService.getAllProducts(query, expandCreatedByUser(expand)));
     }
     
     /**
-     * Obtiene productos disponibles (stock > 0)
+     * Obtiene productos disponibles (stock > 0), paginados por cursor
+     * Responde 304 si el listado no cambió
      */
     @GetMapping("/available")
-    public ResponseEntity<List<ProductResponse>> getAvailableProducts() {
-        log.info("REST request to get available products");
-        List<Product> products = productApplicationService.getAvailableProducts();
-        return ResponseEntity.ok(productDtoMapper.toResponseList(products));
+    public ResponseEntity<List<ProductSummary>> getAvailableProducts(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String afterValue,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            WebRequest webRequest) {
+        log.info("REST request to get available products (after: {}, limit: {})", after, limit);
+        if (notModified(webRequest, productApplicationService.getProductListVersion(true, null))) {
+            return null;
+        }
+        ProductQuery query = toQuery(after, afterValue, limit, sort, direction);
+        return pageResponse(productApplicationService.getAvailableProductSummaries(query));
+    }
+    
+    /**
+     * Obtiene productos disponibles con ?expand, paginados por cursor
+     * Con ?expand=createdByUser se incluye el usuario creador de cada producto
+     */
+    @GetMapping(path = "/available", params = "expand")
+    public ResponseEntity<List<ProductResponse>> getAvailableProductsExpanded(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String afterValue,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam Set<String> expand) {
+        log.info("REST request to get available products (after: {}, limit: {}, expand: {})", after, limit, expand);
+        ProductQuery query = toQuery(after, afterValue, limit, sort, direction);
+        return pageResponse(productApplicationService.getAvailableProducts(query, expandCreatedByUser(expand)));
+    }
+    
+    /**
+     * Busca productos con filtros opcionales, paginados por cursor
+     * ?category=&minPrice=&maxPrice=&inStock=true&after=&afterValue=&limit=&sort=&direction=
+     * La primera página incluye el conteo de productos por categoría (facets)
+     * con los demás filtros aplicados.
+     * Con ?q= se busca por prefijo en nombre y descripción, ordenando por relevancia
+     * (sort y direction se ignoran). Igual que los listados, la siguiente página viaja en
+     * X-Next-Cursor y Link (rel="next"), con X-Next-Value (parámetro afterValue) si sort no es id;
+     * con q también en X-Next-Rank (parámetro afterRank)
+     */
+    @GetMapping("/search")
+    public ResponseEntity<ProductSearchResponse> searchProducts(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) String afterValue,
+            @RequestParam(required = false) Float afterRank,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String direction,
+            @RequestParam(required = false) Set<String> expand) {
+        log.info("REST request to search products (q: {}, category: {}, price: {}-{}, inStock: {})",
+                q, category, minPrice, maxPrice, inStock);
+        ProductQuery query = toQuery(after, afterValue, limit, sort, direction);
+        query.setCategory(category == null || category.isBlank() ? null : category);
+        query.setMinPrice(minPrice);
+        query.setMaxPrice(maxPrice);
+        query.setOnlyAvailable(inStock);
+        if (q != null && !q.isBlank()) {
+            query.setText(q);
+            query.setAfterRank(afterRank);
+        }
+        ProductSearchResult result = productApplicationService.searchProducts(query, expandCreatedByUser(expand));
+        return nextPage(result.getNextCursor(), result.getNextValue(), result.getNextRank()).body(productDtoMapper.toResponse(result));
+    }
+    
+    /**
+     * Autocompletado: productos cuyo nombre o categoría tiene un término que empieza con prefix
+     * ?prefix=lap&limit=10 (máximo 50); se responde desde el índice en memoria
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionResponse>> suggestProducts(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "" + SuggestProductsUseCase.DEFAULT_LIMIT) int limit) {
+        log.debug("REST request to suggest products for prefix: {}", prefix);
+        return ResponseEntity.ok(productDtoMapper.toSuggestionResponseList(
+                productApplicationService.suggestProducts(prefix, limit)));
+    }
+    
+    /**
+     * Exporta todo el catálogo como NDJSON (un producto por línea)
+     * Las filas se escriben a medida que llegan del cursor de la base de datos;
+     * si el cliente envía Accept-Encoding: gzip la respuesta se comprime
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("REST request to export products");
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        ObjectWriter writer = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+                generator.setRootValueSeparator(null);
+                productApplicationService.exportProducts(product -> {
+                    try {
+                        writer.writeValue(generator, productDtoMapper.toResponse(product));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
     
     /**
      * Obtiene un producto por ID 
+     * La cabecera ETag lleva la versión, para usarla luego en If-Match
+     * Con If-None-Match / If-Modified-Since responde 304 consultando solo la versión;
+     * sin precondiciones se carga el producto directamente y los validadores salen de él.
+     * El usuario creador embebido no forma parte del ETag (tiene el suyo en user-service)
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
+    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id, WebRequest webRequest) {
         log.info("REST request to get product by id: {}", id);
+        if (ETags.isConditional(webRequest)) {
+            ProductVersion version = productApplicationService.getProductVersion(id);
+            if (webRequest.checkNotModified(ETags.of(version.getVersion()), ETags.epochMillis(version.getUpdatedAt()))) {
+                return null;
+            }
+        }
         Product product = productApplicationService.getProductById(id);
-        return ResponseEntity.ok(productDtoMapper.toResponse(product));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(ETags.of(product.getVersion()));
+        if (product.getUpdatedAt() != null) {
+            response.lastModified(ETags.epochMillis(product.getUpdatedAt()));
+        }
+        return response.body(productDtoMapper.toResponse(product));
     }
     
     /**
      * Obtiene productos por usuario creador
+     * Con ?expand=createdByUser se incluye el usuario creador de cada producto
+     * Sin expand responde 304 si el listado no cambió
      */
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ProductResponse>> getProductsByUser(@PathVariable Long userId) {
+    public ResponseEntity<List<ProductResponse>> getProductsByUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Set<String> expand,
+            WebRequest webRequest) {
         log.info("REST request to get products by user: {}", userId);
-        List<Product> products = productApplicationService.getProductsByUser(userId);
+        if (!expandCreatedByUser(expand)
+                && notModified(webRequest, productApplicationService.getProductListVersion(false, userId))) {
+            return null;
+        }
+        List<Product> products = productApplicationService.getProductsByUser(userId, expandCreatedByUser(expand));
         return ResponseEntity.ok(productDtoMapper.toResponseList(products));
     }
     
@@ -81,17 +305,47 @@ public class ProductController {
                 .body(productDtoMapper.toResponse(createdProduct));
     }
     
+    /**
+     * Importa productos de forma masiva desde CSV (con cabecera) o NDJSON
+     * Las filas inválidas no detienen la importación: se informan en el reporte con su número de línea
+     */
+    @PostMapping(value = "/import", consumes = {TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ProductImportResponse> importProducts(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        log.info("REST request to import products ({})", contentType);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        
+        ProductImportReport report;
+        if (MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new InvalidProductDataException("CSV body is empty");
+            }
+            report = productApplicationService.importProducts(
+                    reader.lines().iterator(), 2, productRecordParser.csv(header));
+        } else {
+            report = productApplicationService.importProducts(
+                    reader.lines().iterator(), 1, productRecordParser.ndjson());
+        }
+        return ResponseEntity.ok(productDtoMapper.toResponse(report));
+    }
+    
     /**
      * Actualiza un producto existente
+     * Con If-Match: "<versión>" solo se actualiza si nadie lo modificó antes; si no, 412
      */
     @PutMapping("/{id}")
     public ResponseEntity<ProductResponse> updateProduct(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateProductRequest request) {
         log.info("REST request to update product with id: {}", id);
         Product product = productDtoMapper.toDomain(request);
-        Product updatedProduct = productApplicationService.updateProduct(id, product);
-        return ResponseEntity.ok(productDtoMapper.toResponse(updatedProduct));
+        Product updatedProduct = productApplicationService.updateProduct(id, product, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(updatedProduct.getVersion()))
+                .body(productDtoMapper.toResponse(updatedProduct));
     }
     
     /**
@@ -104,6 +358,50 @@ public class ProductController {
         return ResponseEntity.noContent().build();
     }
     
+    /**
+     * Reserva stock de un producto; 409 si no hay suficiente
+     */
+    @PostMapping("/{id}/stock/reserve")
+    public ResponseEntity<Void> reserveStock(
+            @PathVariable Long id,
+            @Valid @RequestBody StockChangeRequest request) {
+        log.info("REST request to reserve {} units of product {}", request.getQuantity(), id);
+        productApplicationService.reserveStock(List.of(new StockItem(id, request.getQuantity())));
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Libera stock previamente reservado de un producto
+     */
+    @PostMapping("/{id}/stock/release")
+    public ResponseEntity<Void> releaseStock(
+            @PathVariable Long id,
+            @Valid @RequestBody StockChangeRequest request) {
+        log.info("REST request to release {} units of product {}", request.getQuantity(), id);
+        productApplicationService.releaseStock(List.of(new StockItem(id, request.getQuantity())));
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Reserva stock de varios productos (carrito): se reservan todos o ninguno
+     */
+    @PostMapping("/stock/reserve")
+    public ResponseEntity<Void> reserveStock(@Valid @RequestBody StockBatchRequest request) {
+        log.info("REST request to reserve stock for {} items", request.getItems().size());
+        productApplicationService.reserveStock(productDtoMapper.toStockItems(request.getItems()));
+        return ResponseEntity.noContent().build();
+    }
+    
+    /**
+     * Libera stock de varios productos en una sola operación
+     */
+    @PostMapping("/stock/release")
+    public ResponseEntity<Void> releaseStock(@Valid @RequestBody StockBatchRequest request) {
+        log.info("REST request to release stock for {} items", request.getItems().size());
+        productApplicationService.releaseStock(productDtoMapper.toStockItems(request.getItems()));
+        return ResponseEntity.noContent().build();
+    }
+    
     /**
      * Endpoint de salud
      */
@@ -111,4 +409,93 @@ public class ProductController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("Product Service running with Clean Architecture!");
     }
+    
+    private boolean expandCreatedByUser(Set<String> expand) {
+        return expand != null && expand.contains(EXPAND_CREATED_BY_USER);
+    }
+    
+    /**
+     * Compara If-None-Match / If-Modified-Since con el agregado del listado
+     * Si devuelve true la respuesta 304 ya quedó preparada y el controlador devuelve null;
+     * si no, ETag y Last-Modified quedan en la respuesta 200.
+     * If-None-Match tiene precedencia: solo el ETag detecta una fila reemplazada
+     */
+    private boolean notModified(WebRequest webRequest, ProductListVersion version) {
+        return webRequest.checkNotModified(
+                ETags.weak(version.getCount(), version.getIdSum(), version.getVersionSum(),
+                        version.getLastModified()),
+                ETags.epochMillis(version.getLastModified()));
+    }
+    
+    /**
+     * Versión exigida por If-Match; null si no se envió o es "*"
+     */
+    private Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Long version = ETags.parseVersion(ifMatch);
+        if (version == null) {
+            throw new ProductVersionConflictException(id);
+        }
+        return version;
+    }
+    
+    private ProductQuery toQuery(Long after, String afterValue, Integer limit, String sort, String direction) {
+        int pageSize = limit != null ? limit : ProductQuery.DEFAULT_LIMIT;
+        if (pageSize < 1) {
+            throw new InvalidProductDataException("limit must be greater than 0");
+        }
+        boolean descending;
+        if (direction == null || direction.equalsIgnoreCase("asc")) {
+            descending = false;
+        } else if (direction.equalsIgnoreCase("desc")) {
+            descending = true;
+        } else {
+            throw new InvalidProductDataException("Invalid direction: " + direction + ". Allowed: asc, desc");
+        }
+        return ProductQuery.builder()
+                .after(after)
+                .afterValue(afterValue)
+                .limit(Math.min(pageSize, ProductQuery.MAX_LIMIT))
+                .sort(ProductSortField.fromParam(sort))
+                .descending(descending)
+                .build();
+    }
+    
+    /**
+     * El cuerpo sigue siendo un arreglo JSON; el cursor siguiente viaja en
+     * X-Next-Cursor (y X-Next-Value) y en la cabecera Link (rel="next")
+     */
+    private ResponseEntity<List<ProductResponse>> pageResponse(ProductPage page) {
+        return nextPage(page.getNextCursor(), page.getNextValue(), null)
+                .body(productDtoMapper.toResponseList(page.getItems()));
+    }
+    
+    private ResponseEntity<List<ProductSummary>> pageResponse(ProductSummaryPage page) {
+        // Sin mapeo por fila ni lista intermedia: la página proyectada es el cuerpo de la respuesta
+        return nextPage(page.getNextCursor(), page.getNextValue(), null).body(page.getItems());
+    }
+    
+    /**
+     * Respuesta 200 con las cabeceras de la siguiente página, si la hay
+     */
+    private ResponseEntity.BodyBuilder nextPage(Long nextCursor, String nextValue, Float nextRank) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor == null) {
+            return response;
+        }
+        ServletUriComponentsBuilder next = ServletUriComponentsBuilder.fromCurrentRequest();
+        next.replaceQueryParam("after", nextCursor);
+        response.header(NEXT_CURSOR_HEADER, String.valueOf(nextCursor));
+        if (nextValue != null) {
+            next.replaceQueryParam("afterValue", nextValue);
+            response.header(NEXT_VALUE_HEADER, nextValue);
+        }
+        if (nextRank != null) {
+            next.replaceQueryParam("afterRank", nextRank);
+            response.header(NEXT_RANK_HEADER, String.valueOf(nextRank));
+        }
+        return response.header(HttpHeaders.LINK, "<" + next.build().toUriString() + ">; rel=\"next\"");
+    }
 }
@@ -26,6 +26,7 @@ public class ProductResponse {
     private Long createdBy;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     private boolean available;
 
     private UserResponse createdByUser; // Información del usuario que creó el producto (opcional)
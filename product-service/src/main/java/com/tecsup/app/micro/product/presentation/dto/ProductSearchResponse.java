@@ -0,0 +1,33 @@
+package com.tecsup.app.micro.product.presentation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO de respuesta de la búsqueda de productos
+ * facets solo viene en la primera página (sin after) y highlights solo en búsquedas de texto (q)
+ * El cursor de la siguiente página viaja en cabeceras, como en los listados
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResponse {
+    
+    private List<ProductResponse> items;
+    private Map<Long, String> highlights;
+    private List<CategoryFacetResponse> facets;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryFacetResponse {
+        private String category;
+        private Long count;
+    }
+}
@@ -0,0 +1,20 @@
+package com.tecsup.app.micro.product.presentation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO de respuesta del autocompletado de productos
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionResponse {
+    
+    private Long id;
+    private String name;
+    private String category;
+}
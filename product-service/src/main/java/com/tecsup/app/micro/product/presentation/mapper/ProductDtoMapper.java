@@ -1,9 +1,17 @@
 package com.tecsup.app.micro.product.presentation.mapper;
 
 import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductImportReport;
+import com.tecsup.app.micro.product.domain.model.ProductSearchResult;
+import com.tecsup.app.micro.product.domain.model.ProductSuggestion;
+import com.tecsup.app.micro.product.domain.model.StockItem;
 import com.tecsup.app.micro.product.infrastructure.client.mapper.UserDtoMapper;
 import com.tecsup.app.micro.product.presentation.dto.CreateProductRequest;
+import com.tecsup.app.micro.product.presentation.dto.ProductImportResponse;
 import com.tecsup.app.micro.product.presentation.dto.ProductResponse;
+import com.tecsup.app.micro.product.presentation.dto.ProductSearchResponse;
+import com.tecsup.app.micro.product.presentation.dto.ProductSuggestionResponse;
+import com.tecsup.app.micro.product.presentation.dto.StockBatchRequest;
 import com.tecsup.app.micro.product.presentation.dto.UpdateProductRequest;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
@@ -37,4 +45,24 @@ public interface ProductDtoMapper {
      * Con el mismo mapeo para cada elemento de la lista
      */
     List<ProductResponse> toResponseList(List<Product> products);
+    
+    /**
+     * Convierte el resultado de una búsqueda a su DTO de respuesta
+     */
+    ProductSearchResponse toResponse(ProductSearchResult result);
+    
+    /**
+     * Convierte sugerencias de autocompletado a DTOs de respuesta
+     */
+    List<ProductSuggestionResponse> toSuggestionResponseList(List<ProductSuggestion> suggestions);
+    
+    /**
+     * Convierte el reporte de importación a su DTO de respuesta
+     */
+    ProductImportResponse toResponse(ProductImportReport report);
+    
+    /**
+     * Convierte los ítems de una reserva por lotes a StockItem de dominio
+     */
+    List<StockItem> toStockItems(List<StockBatchRequest.Item> items);
 }
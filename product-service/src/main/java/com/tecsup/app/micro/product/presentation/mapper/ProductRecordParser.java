@@ -0,0 +1,142 @@
+package com.tecsup.app.micro.product.presentation.mapper;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tecsup.app.micro.product.domain.exception.InvalidProductDataException;
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.presentation.dto.CreateProductRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Convierte las líneas de un archivo de importación (CSV o NDJSON) a Product de dominio
+ * Las funciones devueltas no guardan estado y pueden usarse desde varios hilos
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductRecordParser {
+    
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String PRICE = "price";
+    private static final String STOCK = "stock";
+    private static final String CATEGORY = "category";
+    private static final String CREATED_BY = "createdBy";
+    
+    private final ObjectMapper objectMapper;
+    private final ProductDtoMapper productDtoMapper;
+    
+    /**
+     * Cada línea es un CreateProductRequest en JSON
+     */
+    public Function<String, Product> ndjson() {
+        return line -> {
+            try {
+                return productDtoMapper.toDomain(objectMapper.readValue(line, CreateProductRequest.class));
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e.getOriginalMessage());
+            }
+        };
+    }
+    
+    /**
+     * CSV con cabecera; las columnas se ubican por nombre
+     * (name, description, price, stock, category, createdBy) y no se admiten saltos de línea dentro de un campo
+     */
+    public Function<String, Product> csv(String header) {
+        List<String> columns = split(header).stream()
+                .map(column -> column.trim().replace("\uFEFF", ""))
+                .toList();
+        int name = columns.indexOf(NAME);
+        int description = columns.indexOf(DESCRIPTION);
+        int price = columns.indexOf(PRICE);
+        int stock = columns.indexOf(STOCK);
+        int category = columns.indexOf(CATEGORY);
+        int createdBy = columns.indexOf(CREATED_BY);
+        if (name < 0 || price < 0 || stock < 0) {
+            throw new InvalidProductDataException("CSV header must contain the columns name, price and stock");
+        }
+        
+        return line -> {
+            List<String> values = split(line);
+            return Product.builder()
+                    .name(value(values, name))
+                    .description(value(values, description))
+                    .price(decimal(values, price, PRICE))
+                    .stock(integer(values, stock, STOCK))
+                    .category(value(values, category))
+                    .createdBy(longValue(values, createdBy, CREATED_BY))
+                    .build();
+        };
+    }
+    
+    /**
+     * Separa una línea CSV (RFC 4180): comillas dobles para campos con comas y "" como escape
+     */
+    static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+    
+    private static String value(List<String> values, int index) {
+        if (index < 0 || index >= values.size() || values.get(index).isEmpty()) {
+            return null;
+        }
+        return values.get(index);
+    }
+    
+    private static BigDecimal decimal(List<String> values, int index, String column) {
+        String value = value(values, index);
+        try {
+            return value == null ? null : new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in column " + column + ": '" + value + "'");
+        }
+    }
+    
+    private static Integer integer(List<String> values, int index, String column) {
+        String value = value(values, index);
+        try {
+            return value == null ? null : Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in column " + column + ": '" + value + "'");
+        }
+    }
+    
+    private static Long longValue(List<String> values, int index, String column) {
+        String value = value(values, index);
+        try {
+            return value == null ? null : Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in column " + column + ": '" + value + "'");
+        }
+    }
+}
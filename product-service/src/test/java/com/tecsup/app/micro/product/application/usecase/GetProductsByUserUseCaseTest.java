@@ -0,0 +1,97 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.exception.UserNotFoundException;
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.User;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import com.tecsup.app.micro.product.infrastructure.client.UserClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class GetProductsByUserUseCaseTest {
+
+    private final ProductRepository repository = mock(ProductRepository.class);
+    private final UserClient userClient = mock(UserClient.class);
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final GetProductsByUserUseCase useCase = new GetProductsByUserUseCase(repository, userClient, executor);
+
+    @AfterEach
+    void closeExecutor() {
+        executor.close();
+    }
+
+    @Test
+    void productsAndUserAreFetchedConcurrently() {
+        // Cada lado espera al otro: en serie la llamada nunca terminaría
+        CountDownLatch productsStarted = new CountDownLatch(1);
+        CountDownLatch userStarted = new CountDownLatch(1);
+        User user = User.builder().id(1L).name("Ana").build();
+        when(repository.findByCreatedBy(1L)).thenAnswer(call -> {
+            productsStarted.countDown();
+            assertTrue(userStarted.await(5, TimeUnit.SECONDS));
+            return List.of(Product.builder().id(10L).createdBy(1L).build());
+        });
+        when(userClient.getUserById(1L)).thenAnswer(call -> {
+            userStarted.countDown();
+            assertTrue(productsStarted.await(5, TimeUnit.SECONDS));
+            return user;
+        });
+
+        List<Product> products = useCase.execute(1L, true);
+
+        assertEquals(1, products.size());
+        assertSame(user, products.get(0).getCreatedByUser());
+    }
+
+    @Test
+    void unknownUserIsReportedWithoutWaitingForOrInterruptingTheProductQuery() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        when(repository.findByCreatedBy(2L)).thenAnswer(call -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+            finished.countDown();
+            return List.of();
+        });
+        // El usuario no existe, pero solo se responde con la consulta ya en curso:
+        // si no, cerrar el ámbito la cancelaría antes de empezar y no habría nada que comprobar
+        when(userClient.getUserById(2L)).thenAnswer(call -> {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            return null;
+        });
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2),
+                () -> assertThrows(UserNotFoundException.class, () -> useCase.execute(2L, false)));
+
+        // La consulta en curso termina por su cuenta: su hilo no se interrumpe
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+        assertFalse(interrupted.get());
+    }
+
+    @Test
+    void failedProductQueryIsRethrownUnchanged() {
+        RuntimeException failure = new IllegalStateException("productdb unavailable");
+        when(repository.findByCreatedBy(3L)).thenThrow(failure);
+        when(userClient.getUserById(3L)).thenReturn(User.builder().id(3L).name("Ana").build());
+
+        assertSame(failure, assertThrows(IllegalStateException.class, () -> useCase.execute(3L, false)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductImportReport;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import com.tecsup.app.micro.product.presentation.mapper.ProductRecordParser;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class ImportProductsUseCaseTest {
+
+    private final ProductRecordParser parser = new ProductRecordParser(null, null);
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void validRowsAreLoadedAndInvalidRowsAreReportedWithTheirLineNumber() {
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.insertAll(anyList())).thenAnswer(call -> ((List<Product>) call.getArgument(0)).size());
+        ImportProductsUseCase useCase = new ImportProductsUseCase(repository);
+
+        List<String> lines = List.of(
+                "\"Laptop, 16\"\"\",Gaming,1500.00,10,Electronics,1",
+                "Mouse,,abc,5,,",
+                "",
+                ",No name,10.00,1,,",
+                "Keyboard,,120.50,0,,2");
+
+        ProductImportReport report = useCase.execute(lines.iterator(), 2,
+                parser.csv("name,description,price,stock,category,createdBy"));
+
+        ArgumentCaptor<List<Product>> loaded = ArgumentCaptor.forClass(List.class);
+        verify(repository).insertAll(loaded.capture());
+        assertEquals(List.of("Laptop, 16\"", "Keyboard"), loaded.getValue().stream().map(Product::getName).toList());
+
+        assertEquals(4, report.getReceived());
+        assertEquals(2, report.getImported());
+        assertEquals(2, report.getRejected());
+        assertEquals(List.of(3L, 5L), report.getErrors().stream().map(ProductImportReport.RowError::getLine).toList());
+    }
+
+    @Test
+    void rowsAreLoadedInChunks() {
+        ProductRepository repository = mock(ProductRepository.class);
+        when(repository.insertAll(anyList())).thenAnswer(call -> ((List<?>) call.getArgument(0)).size());
+        ImportProductsUseCase useCase = new ImportProductsUseCase(repository);
+
+        int rows = ImportProductsUseCase.CHUNK_SIZE + 10;
+        ProductImportReport report = useCase.execute(
+                IntStream.range(0, rows).mapToObj(i -> "P" + i + ",9.99,1").iterator(), 2,
+                parser.csv("name,price,stock"));
+
+        verify(repository, times(2)).insertAll(anyList());
+        assertEquals(rows, report.getImported());
+        assertEquals(0, report.getRejected());
+    }
+}
@@ -0,0 +1,85 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupScopeTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void closeExecutor() {
+        release.countDown();
+        executor.close();
+    }
+
+    @Test
+    void firstFailureIsRethrownUnchangedFromEveryFork() {
+        RuntimeException failure = new IllegalArgumentException("lookup failed");
+        try (LookupScope scope = new LookupScope(executor)) {
+            Future<Object> failed = scope.fork(() -> {
+                throw failure;
+            });
+            Future<Boolean> sibling = scope.fork(() -> release.await(5, TimeUnit.SECONDS));
+
+            assertSame(failure, assertThrows(IllegalArgumentException.class, () -> scope.join(failed)));
+            assertSame(failure, assertThrows(IllegalArgumentException.class, () -> scope.join(sibling)));
+        }
+    }
+
+    @Test
+    void failureCancelsSiblingsWithoutInterruptingThem() throws InterruptedException {
+        CountDownLatch siblingStarted = new CountDownLatch(1);
+        CountDownLatch siblingFinished = new CountDownLatch(1);
+        AtomicBoolean interrupted = new AtomicBoolean();
+        try (LookupScope scope = new LookupScope(executor)) {
+            Future<Object> sibling = scope.fork(() -> {
+                siblingStarted.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    interrupted.set(true);
+                }
+                siblingFinished.countDown();
+                return null;
+            });
+            assertTrue(siblingStarted.await(5, TimeUnit.SECONDS));
+            Future<Object> failed = scope.fork(() -> {
+                throw new IllegalStateException("lookup failed");
+            });
+
+            assertThrows(IllegalStateException.class, () -> scope.join(failed));
+            assertTrue(sibling.isCancelled());
+        }
+        release.countDown();
+        assertTrue(siblingFinished.await(5, TimeUnit.SECONDS));
+        assertFalse(interrupted.get());
+    }
+
+    @Test
+    void forksThatHaveNotStartedNeverRunOnceTheScopeIsClosed() throws InterruptedException {
+        AtomicBoolean ran = new AtomicBoolean();
+        try (ExecutorService single = Executors.newSingleThreadExecutor()) {
+            Future<Boolean> queued;
+            try (LookupScope scope = new LookupScope(single)) {
+                scope.fork(() -> release.await(5, TimeUnit.SECONDS));
+                queued = scope.fork(() -> ran.getAndSet(true));
+            }
+            release.countDown();
+
+            assertTrue(queued.isCancelled());
+            assertThrows(IllegalStateException.class, () -> new LookupScope(single).join(queued));
+        }
+        assertFalse(ran.get());
+    }
+}
@@ -0,0 +1,44 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.exception.InsufficientStockException;
+import com.tecsup.app.micro.product.domain.exception.ProductNotFoundException;
+import com.tecsup.app.micro.product.domain.model.StockItem;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ReserveStockUseCaseTest {
+
+    private final ProductRepository repository = mock(ProductRepository.class);
+    private final ReserveStockUseCase useCase = new ReserveStockUseCase(repository);
+
+    @Test
+    void itemsAreMergedAndReservedInIdOrder() {
+        when(repository.reserveStock(anyLong(), anyInt())).thenReturn(true);
+
+        useCase.execute(List.of(new StockItem(2L, 1), new StockItem(1L, 2), new StockItem(2L, 3)));
+
+        // Mismo orden de bloqueo de filas en todas las transacciones
+        InOrder inOrder = inOrder(repository);
+        inOrder.verify(repository).reserveStock(1L, 2);
+        inOrder.verify(repository).reserveStock(2L, 4);
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void missingProductAndShortStockAreReportedApart() {
+        when(repository.reserveStock(anyLong(), anyInt())).thenReturn(false);
+        when(repository.existsById(1L)).thenReturn(false);
+        when(repository.existsById(2L)).thenReturn(true);
+
+        assertThrows(ProductNotFoundException.class, () -> useCase.execute(List.of(new StockItem(1L, 1))));
+        assertThrows(InsufficientStockException.class, () -> useCase.execute(List.of(new StockItem(2L, 1))));
+    }
+}
@@ -0,0 +1,101 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.exception.InvalidProductDataException;
+import com.tecsup.app.micro.product.domain.model.CategoryFacet;
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductPage;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
+import com.tecsup.app.micro.product.domain.model.ProductSearchResult;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SearchProductsUseCaseTest {
+
+    private final ProductRepository repository = mock(ProductRepository.class);
+    private final ProductUserEnricher enricher = mock(ProductUserEnricher.class);
+    private final SearchProductsUseCase useCase = new SearchProductsUseCase(repository, enricher);
+
+    @Test
+    void firstPageOfAFilteredSearchIncludesFacets() {
+        ProductQuery query = ProductQuery.builder().category("Electronics").build();
+        when(repository.findPage(query)).thenReturn(new ProductPage(List.of(product(1L)), 1L, null));
+        when(repository.countByCategory(query)).thenReturn(List.of(new CategoryFacet("Electronics", 1L)));
+
+        ProductSearchResult result = useCase.execute(query, false);
+
+        assertEquals(1L, result.getNextCursor());
+        assertEquals(1, result.getItems().size());
+        assertEquals("Electronics", result.getFacets().get(0).getCategory());
+        verify(repository, never()).searchText(any());
+        verifyNoInteractions(enricher);
+    }
+
+    @Test
+    void followingPagesSkipTheFacets() {
+        ProductQuery query = ProductQuery.builder().after(50L).build();
+        when(repository.findPage(query)).thenReturn(new ProductPage(List.of(product(51L)), null, null));
+
+        ProductSearchResult result = useCase.execute(query, false);
+
+        assertNull(result.getFacets());
+        verify(repository, never()).countByCategory(any());
+    }
+
+    @Test
+    void textSearchKeepsRankAndHighlights() {
+        ProductQuery query = ProductQuery.builder().text("lap").after(3L).afterRank(0.5f).build();
+        when(repository.searchText(query)).thenReturn(ProductSearchResult.builder()
+                .items(List.of(product(4L)))
+                .nextCursor(4L)
+                .nextRank(0.25f)
+                .highlights(Map.of(4L, "<mark>Lap</mark>top"))
+                .build());
+
+        ProductSearchResult result = useCase.execute(query, false);
+
+        assertEquals(4L, result.getNextCursor());
+        assertEquals(0.25f, result.getNextRank());
+        assertEquals("<mark>Lap</mark>top", result.getHighlights().get(4L));
+        verify(repository, never()).findPage(any());
+    }
+
+    @Test
+    void expandResolvesTheCreatorOfEachItem() {
+        ProductQuery query = ProductQuery.builder().after(1L).build();
+        List<Product> items = List.of(product(2L));
+        List<Product> enriched = List.of(product(2L).toBuilder().name("enriched").build());
+        when(repository.findPage(query)).thenReturn(new ProductPage(items, null, null));
+        when(enricher.enrich(items)).thenReturn(enriched);
+
+        assertSame(enriched, useCase.execute(query, true).getItems());
+    }
+
+    @Test
+    void invertedPriceRangeIsRejectedBeforeQuerying() {
+        ProductQuery query = ProductQuery.builder()
+                .minPrice(new BigDecimal("20"))
+                .maxPrice(new BigDecimal("10"))
+                .build();
+
+        assertThrows(InvalidProductDataException.class, () -> useCase.execute(query, false));
+        verifyNoInteractions(repository);
+    }
+
+    private static Product product(Long id) {
+        return Product.builder()
+                .id(id)
+                .name("Laptop")
+                .price(new BigDecimal("10.00"))
+                .stock(5)
+                .category("Electronics")
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package com.tecsup.app.micro.product.application.usecase;
+
+import com.tecsup.app.micro.product.domain.exception.ProductVersionConflictException;
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UpdateProductUseCaseTest {
+
+    private final ProductRepository repository = mock(ProductRepository.class);
+    private final UpdateProductUseCase useCase = new UpdateProductUseCase(repository);
+
+    private final Product details = Product.builder()
+            .name("Laptop Pro")
+            .price(new BigDecimal("1500.00"))
+            .stock(3)
+            .build();
+
+    @Test
+    void staleIfMatchVersionIsRejectedWithoutSaving() {
+        when(repository.findById(1L)).thenReturn(Optional.of(stored(4L)));
+
+        assertThrows(ProductVersionConflictException.class, () -> useCase.execute(1L, details, 3L));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void matchingOrMissingVersionUpdatesTheProduct() {
+        when(repository.findById(1L)).thenAnswer(call -> Optional.of(stored(4L)));
+        when(repository.save(any())).thenAnswer(call -> call.<Product>getArgument(0).toBuilder().version(5L).build());
+
+        assertEquals(5L, useCase.execute(1L, details, 4L).getVersion());
+        assertEquals("Laptop Pro", useCase.execute(1L, details, null).getName());
+    }
+
+    private static Product stored(Long version) {
+        return Product.builder()
+                .id(1L)
+                .name("Laptop")
+                .price(new BigDecimal("1200.00"))
+                .stock(5)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,129 @@
+package com.tecsup.app.micro.product.infrastructure.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HedgingCallExecutorTest {
+
+    private final HedgingCallExecutor executor = new HedgingCallExecutor(Executors.newVirtualThreadPerTaskExecutor());
+
+    @Test
+    void hedgeWinsWhenFirstAttemptIsSlow() {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger hedges = new AtomicInteger();
+
+        String result = executor.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                sleep(Duration.ofSeconds(2));
+                return "slow";
+            }
+            return "fast";
+        }, Duration.ofSeconds(1), Duration.ofMillis(50), hedges::incrementAndGet).join();
+
+        assertEquals("fast", result);
+        assertEquals(1, hedges.get());
+    }
+
+    @Test
+    void noHedgeWhenFirstAttemptAnswersInTime() {
+        AtomicInteger hedges = new AtomicInteger();
+
+        String result = executor.execute(() -> "ok", Duration.ofSeconds(1), Duration.ofMillis(200), hedges::incrementAndGet)
+                .join();
+
+        assertEquals("ok", result);
+        assertEquals(0, hedges.get());
+    }
+
+    @Test
+    void failsWithTimeoutWhenNoAttemptAnswers() {
+        CompletionException e = assertThrows(CompletionException.class, () -> executor.execute(() -> {
+            sleep(Duration.ofSeconds(2));
+            return "late";
+        }, Duration.ofMillis(100), null, () -> { }).join());
+
+        assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+
+    @Test
+    void losingAttemptIsInterruptedOnceTheHedgeWins() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch loserInterrupted = new CountDownLatch(1);
+
+        String result = executor.execute(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                awaitInterrupt(loserInterrupted);
+                return "slow";
+            }
+            return "fast";
+        }, Duration.ofSeconds(5), Duration.ofMillis(50), () -> { }).join();
+
+        assertEquals("fast", result);
+        assertTrue(loserInterrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void timedOutAttemptIsInterrupted() throws InterruptedException {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        assertThrows(CompletionException.class, () -> executor.execute(() -> {
+            awaitInterrupt(interrupted);
+            return "late";
+        }, Duration.ofMillis(100), null, () -> { }).join());
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void noHedgeStartsAfterTheCallHasFailed() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        AtomicInteger hedges = new AtomicInteger();
+
+        assertThrows(CompletionException.class, () -> executor.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("boom");
+        }, Duration.ofSeconds(1), Duration.ofMillis(50), hedges::incrementAndGet).join());
+
+        Thread.sleep(150);
+        assertEquals(1, attempts.get());
+        assertEquals(0, hedges.get());
+    }
+
+    @Test
+    void latencyTrackerReportsPercentilesOnlyWithEnoughSamples() {
+        LatencyTracker tracker = new LatencyTracker(100, 10);
+        for (int i = 1; i <= 9; i++) {
+            tracker.record(Duration.ofMillis(i));
+        }
+        assertNull(tracker.percentile(0.99));
+
+        tracker.record(Duration.ofMillis(100));
+        assertEquals(Duration.ofMillis(100), tracker.percentile(0.99));
+        assertEquals(Duration.ofMillis(5), tracker.percentile(0.5));
+    }
+
+    private static void awaitInterrupt(CountDownLatch interrupted) {
+        try {
+            Thread.sleep(Duration.ofSeconds(30));
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.tecsup.app.micro.product.infrastructure.client;
+
+import com.tecsup.app.micro.product.domain.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserBatchCoalescerTest {
+
+    @Test
+    void concurrentLoadsWithinWindowAreResolvedWithOneBatch() {
+        List<List<Long>> calls = new CopyOnWriteArrayList<>();
+        Function<List<Long>, Map<Long, User>> loader = ids -> {
+            calls.add(ids);
+            return ids.stream()
+                    .filter(id -> id != 3L)
+                    .collect(Collectors.toMap(id -> id, id -> User.builder().id(id).build()));
+        };
+
+        try (UserBatchCoalescer coalescer = new UserBatchCoalescer(
+                loader, Executors.newVirtualThreadPerTaskExecutor(), Duration.ofMillis(50), 100)) {
+
+            CompletableFuture<User> first = coalescer.load(1L);
+            CompletableFuture<User> second = coalescer.load(2L);
+            CompletableFuture<User> duplicate = coalescer.load(1L);
+            CompletableFuture<User> missing = coalescer.load(3L);
+
+            assertEquals(1L, first.join().getId());
+            assertEquals(2L, second.join().getId());
+            assertSame(first, duplicate);
+            assertNull(missing.join());
+            assertEquals(1, calls.size());
+            assertEquals(3, calls.get(0).size());
+        }
+    }
+
+    @Test
+    void batchIsFlushedAsSoonAsItIsFull() {
+        List<List<Long>> calls = new CopyOnWriteArrayList<>();
+        Function<List<Long>, Map<Long, User>> loader = ids -> {
+            calls.add(ids);
+            return Map.of();
+        };
+
+        try (UserBatchCoalescer coalescer = new UserBatchCoalescer(
+                loader, Executors.newVirtualThreadPerTaskExecutor(), Duration.ofSeconds(30), 2)) {
+
+            CompletableFuture<User> first = coalescer.load(1L);
+            CompletableFuture<User> second = coalescer.load(2L);
+
+            assertNull(first.join());
+            assertNull(second.join());
+            assertEquals(1, calls.size());
+        }
+    }
+
+    @Test
+    void fullBatchCancelsTheTimerOfItsWindow() throws InterruptedException {
+        List<List<Long>> calls = new CopyOnWriteArrayList<>();
+        Function<List<Long>, Map<Long, User>> loader = ids -> {
+            calls.add(ids);
+            return Map.of();
+        };
+
+        try (UserBatchCoalescer coalescer = new UserBatchCoalescer(
+                loader, Executors.newVirtualThreadPerTaskExecutor(), Duration.ofMillis(300), 3)) {
+
+            List.of(1L, 2L, 3L).forEach(coalescer::load);
+            Thread.sleep(150);
+            CompletableFuture<User> fourth = coalescer.load(4L);
+            // El temporizador de la primera ventana (t=300 ms) ya no debe vaciar la segunda
+            Thread.sleep(200);
+            CompletableFuture<User> fifth = coalescer.load(5L);
+
+            fourth.join();
+            fifth.join();
+            assertEquals(List.of(3, 2), calls.stream().map(List::size).toList());
+        }
+    }
+
+    @Test
+    void loaderFailureCompletesEveryPendingFuture() {
+        Function<List<Long>, Map<Long, User>> loader = ids -> {
+            throw new IllegalStateException("boom");
+        };
+
+        try (UserBatchCoalescer coalescer = new UserBatchCoalescer(
+                loader, Executors.newVirtualThreadPerTaskExecutor(), Duration.ofMillis(10), 100)) {
+
+            CompletableFuture<User> first = coalescer.load(1L);
+            CompletableFuture<User> second = coalescer.load(2L);
+
+            assertThrows(Exception.class, first::join);
+            assertThrows(Exception.class, second::join);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.tecsup.app.micro.product.infrastructure.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tecsup.app.micro.product.PostgresTest;
+import com.tecsup.app.micro.product.infrastructure.config.UserServiceProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import static org.mockito.Mockito.*;
+
+class UserChangeListenerTest extends PostgresTest {
+
+    private static final String CHANNEL = "user_changes_test";
+
+    private final UserClient userClient = mock(UserClient.class);
+    private UserChangeListener listener;
+
+    @BeforeEach
+    void start() {
+        UserServiceProperties properties = new UserServiceProperties();
+        properties.getEvents().setUrl(jdbcUrl());
+        properties.getEvents().setUsername(username());
+        properties.getEvents().setPassword(password());
+        properties.getEvents().setChannel(CHANNEL);
+        listener = new UserChangeListener(userClient, properties, new ObjectMapper());
+        listener.start();
+        // Al conectar se vacía la caché: a partir de aquí el LISTEN ya está activo
+        verify(userClient, timeout(5000)).invalidateAll();
+    }
+
+    @AfterEach
+    void stop() {
+        listener.stop();
+    }
+
+    @Test
+    void updatedUserIsRefreshed() throws SQLException {
+        notify("{\"id\":5,\"version\":2,\"op\":\"UPDATED\"}");
+
+        verify(userClient, timeout(5000)).refresh(5L);
+        verify(userClient, never()).invalidate(5L);
+    }
+
+    @Test
+    void createdAndDeletedUsersAreInvalidated() throws SQLException {
+        notify("{\"id\":6,\"version\":0,\"op\":\"CREATED\"}");
+        notify("{\"id\":7,\"version\":3,\"op\":\"DELETED\"}");
+
+        verify(userClient, timeout(5000)).invalidate(6L);
+        verify(userClient, timeout(5000)).invalidate(7L);
+    }
+
+    @Test
+    void malformedEventIsIgnored() throws SQLException {
+        notify("not json");
+        notify("{\"id\":8,\"version\":1,\"op\":\"UPDATED\"}");
+
+        // Sigue escuchando tras el mensaje inválido
+        verify(userClient, timeout(5000)).refresh(8L);
+        verify(userClient, times(1)).invalidateAll();
+    }
+
+    private static void notify(String payload) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(jdbcUrl(), username(), password());
+             PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+            statement.setString(1, CHANNEL);
+            statement.setString(2, payload);
+            statement.execute();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.tecsup.app.micro.product.infrastructure.client;
+
+import com.tecsup.app.micro.product.infrastructure.client.dto.UserDto;
+import com.tecsup.app.micro.product.infrastructure.client.mapper.UserDtoMapperImpl;
+import com.tecsup.app.micro.product.infrastructure.config.UserServiceProperties;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class UserClientTest {
+
+    private final RestTemplate restTemplate = mock(RestTemplate.class);
+    private final UserServiceProperties properties = new UserServiceProperties();
+    private UserClient userClient;
+
+    UserClientTest() {
+        properties.setUrl("http://user-service");
+        properties.getBatch().setWindow(Duration.ofMillis(1));
+        properties.getCache().setRefreshAfter(Duration.ofMillis(200));
+        properties.getCache().setNegativeTtl(Duration.ofSeconds(30));
+    }
+
+    @AfterEach
+    void shutdown() {
+        userClient.shutdown();
+    }
+
+    @Test
+    void cachedUserIsServedWithoutCallingUserServiceAgain() {
+        answerWith(user(1L, "Ana"));
+        start();
+
+        assertEquals("Ana", userClient.getUserById(1L).getName());
+        assertEquals("Ana", userClient.getUserById(1L).getName());
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(UserDto[].class));
+    }
+
+    @Test
+    void missingUserIsCachedAsNotFound() {
+        answerWith();
+        start();
+
+        assertNull(userClient.getUserById(7L));
+        assertNull(userClient.getUserById(7L));
+
+        verify(restTemplate, times(1)).getForObject(anyString(), eq(UserDto[].class));
+    }
+
+    @Test
+    void staleUserIsServedWhileItIsRefreshedInTheBackground() throws InterruptedException {
+        answerWith(user(1L, "Ana"));
+        start();
+        assertEquals("Ana", userClient.getUserById(1L).getName());
+
+        TimeUnit.MILLISECONDS.sleep(300);
+        // Respuesta lenta: si la recarga terminara antes de volver la lectura, Caffeine ya devolvería el valor nuevo
+        when(restTemplate.getForObject(anyString(), eq(UserDto[].class))).thenAnswer(call -> {
+            TimeUnit.MILLISECONDS.sleep(200);
+            return new UserDto[] { user(1L, "Ana María") };
+        });
+
+        // Pasado refreshAfter la lectura no espera a user-service: devuelve la copia anterior
+        assertEquals("Ana", userClient.getUserById(1L).getName());
+        verify(restTemplate, timeout(2000).times(2)).getForObject(anyString(), eq(UserDto[].class));
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            while (!"Ana María".equals(userClient.getCachedUser(1L).getName())) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        });
+    }
+
+    @Test
+    void invalidatedUserIsFetchedAgain() {
+        answerWith(user(1L, "Ana"));
+        start();
+        userClient.getUserById(1L);
+
+        answerWith(user(1L, "Ana María"));
+        userClient.invalidate(1L);
+
+        assertNull(userClient.getCachedUser(1L));
+        assertEquals("Ana María", userClient.getUserById(1L).getName());
+    }
+
+    @Test
+    void changedUserIsReloadedFromThePrimary() {
+        answerWith(user(1L, "Ana"));
+        start();
+        userClient.getUserById(1L);
+
+        answerWith(user(1L, "Ana María"));
+        userClient.refresh(1L);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<HttpEntity<?>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, timeout(2000)).exchange(anyString(), eq(HttpMethod.GET), request.capture(), eq(UserDto[].class));
+        assertEquals("true", request.getValue().getHeaders().getFirst("X-Read-Primary"));
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            while (!"Ana María".equals(userClient.getCachedUser(1L).getName())) {
+                TimeUnit.MILLISECONDS.sleep(10);
+            }
+        });
+
+        // Solo la recarga tras el evento: las lecturas siguientes vuelven a la réplica
+        userClient.invalidateAll();
+        userClient.getUserById(1L);
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(UserDto[].class));
+        verify(restTemplate, times(1)).exchange(anyString(), any(HttpMethod.class), any(HttpEntity.class), eq(UserDto[].class));
+    }
+
+    private void start() {
+        userClient = new UserClient(restTemplate, new UserDtoMapperImpl(), properties, new SimpleMeterRegistry(),
+                CircuitBreaker.ofDefaults("userService"), Bulkhead.ofDefaults("userService"));
+        userClient.init();
+    }
+
+    private void answerWith(UserDto... users) {
+        when(restTemplate.getForObject(anyString(), eq(UserDto[].class))).thenReturn(users);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(UserDto[].class)))
+                .thenReturn(ResponseEntity.ok(users));
+    }
+
+    private static UserDto user(Long id, String name) {
+        return new UserDto(id, name, name.toLowerCase().replace(' ', '.') + "@tecsup.edu.pe", null, null, null, null);
+    }
+}
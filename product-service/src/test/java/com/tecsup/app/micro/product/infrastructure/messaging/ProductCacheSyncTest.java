@@ -0,0 +1,154 @@
+package com.tecsup.app.micro.product.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tecsup.app.micro.product.PostgresTest;
+import com.tecsup.app.micro.product.domain.event.ProductChangedEvent;
+import com.tecsup.app.micro.product.infrastructure.config.ProductCacheProperties;
+import com.tecsup.app.micro.product.infrastructure.persistence.repository.CachingProductRepository;
+import com.tecsup.app.micro.product.infrastructure.search.InMemoryProductSuggestionRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Dos réplicas (dos ProductCacheSync con cachés simuladas) sobre el mismo productdb
+ */
+class ProductCacheSyncTest extends PostgresTest {
+
+    private static final String CHANNEL = "product_changes_test";
+
+    private final CachingProductRepository senderCache = mock(CachingProductRepository.class);
+    private final CachingProductRepository receiverCache = mock(CachingProductRepository.class);
+    private final InMemoryProductSuggestionRepository receiverSuggestions = mock(InMemoryProductSuggestionRepository.class);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ProductCacheSync sender;
+    private ProductCacheSync receiver;
+
+    @BeforeEach
+    void start() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(jdbcUrl(), username(), password());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        sender = replica(senderCache, null);
+        receiver = replica(receiverCache, receiverSuggestions);
+        sender.start();
+        receiver.start();
+        // Al conectar se vacía la caché: a partir de aquí el LISTEN ya está activo
+        verify(senderCache, timeout(5000)).evictAll();
+        verify(receiverCache, timeout(5000)).evictAll();
+    }
+
+    @AfterEach
+    void stop() {
+        sender.stop();
+        receiver.stop();
+    }
+
+    @Test
+    void committedChangeIsAppliedByTheOtherReplica() {
+        publish(new ProductChangedEvent(Set.of(5L, 6L), false, false));
+
+        verify(receiverCache, timeout(5000)).evict(Set.of(5L, 6L));
+        verify(receiverSuggestions, timeout(5000)).refresh(Set.of(5L, 6L));
+    }
+
+    @Test
+    void replicaIgnoresItsOwnMessages() {
+        publish(ProductChangedEvent.of(7L));
+
+        verify(receiverCache, timeout(5000)).evict(Set.of(7L));
+        verify(senderCache, never()).evict(any());
+    }
+
+    @Test
+    void rolledBackChangeIsNotPublished() {
+        transactionTemplate.executeWithoutResult(status -> {
+            sender.onProductChanged(ProductChangedEvent.of(8L));
+            status.setRollbackOnly();
+        });
+        publish(ProductChangedEvent.of(9L));
+
+        // Los mensajes llegan en orden de commit: al recibir el 9 el 8 ya habría llegado
+        verify(receiverCache, timeout(5000)).evict(Set.of(9L));
+        verify(receiverCache, never()).evict(Set.of(8L));
+    }
+
+    @Test
+    void oversizedChangeFallsBackToInvalidatingEverything() {
+        Set<Long> ids = LongStream.range(1_000_000_000L, 1_000_001_000L).boxed().collect(Collectors.toSet());
+
+        publish(new ProductChangedEvent(ids, false, false));
+
+        verify(receiverCache, timeout(5000).times(2)).evictAll();
+        verify(receiverSuggestions, timeout(5000).times(2)).rebuild();
+        verify(receiverCache, never()).evict(any());
+    }
+
+    @Test
+    void stockChangeEvictsTheCacheButLeavesTheSuggestionIndex() {
+        publish(ProductChangedEvent.ofStock(Set.of(11L)));
+        publish(ProductChangedEvent.ofStock(LongStream.range(1_000_000_000L, 1_000_001_000L).boxed()
+                .collect(Collectors.toSet())));
+
+        verify(receiverCache, timeout(5000)).evict(Set.of(11L));
+        // El mensaje demasiado grande conserva stockOnly aunque invalide todo
+        verify(receiverCache, timeout(5000).times(2)).evictAll();
+        verify(receiverSuggestions, never()).refresh(any());
+        verify(receiverSuggestions, times(1)).rebuild();
+    }
+
+    @Test
+    void listenerReconnectsAndResynchronizesAfterItsConnectionIsDropped() {
+        jdbcTemplate.queryForList("SELECT pg_terminate_backend(pid) FROM pg_stat_activity "
+                + "WHERE query = 'LISTEN " + CHANNEL + "' AND pid <> pg_backend_pid()");
+
+        // Los mensajes emitidos sin conexión se pierden: al reconectar se vacía todo
+        verify(receiverCache, timeout(10000).times(2)).evictAll();
+        verify(receiverSuggestions, timeout(10000).times(2)).rebuild();
+        verify(senderCache, timeout(10000).times(2)).evictAll();
+
+        publish(ProductChangedEvent.of(10L));
+        verify(receiverCache, timeout(5000)).evict(Set.of(10L));
+    }
+
+    private void publish(ProductChangedEvent event) {
+        transactionTemplate.executeWithoutResult(status -> sender.onProductChanged(event));
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProductCacheSync replica(CachingProductRepository cache, InMemoryProductSuggestionRepository suggestions) {
+        ProductCacheProperties properties = new ProductCacheProperties();
+        properties.getEvents().setChannel(CHANNEL);
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(jdbcUrl());
+        dataSourceProperties.setUsername(username());
+        dataSourceProperties.setPassword(password());
+        ObjectProvider<CachingProductRepository> cacheProvider = mock(ObjectProvider.class);
+        when(cacheProvider.getIfAvailable()).thenReturn(cache);
+        ObjectProvider<InMemoryProductSuggestionRepository> suggestionProvider = mock(ObjectProvider.class);
+        when(suggestionProvider.getIfAvailable()).thenReturn(suggestions);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getProperties()).thenReturn(Map.of());
+
+        return new ProductCacheSync(jdbcTemplate, new ObjectMapper(), properties, dataSourceProperties,
+                cacheProvider, suggestionProvider, entityManagerFactory);
+    }
+}
@@ -0,0 +1,75 @@
+package com.tecsup.app.micro.product.infrastructure.persistence.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaFallbackDataSourceTest {
+
+    private final DataSource replica = mock(DataSource.class);
+    private final DataSource primary = mock(DataSource.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final ReplicaLagMonitor lagMonitor = mock(ReplicaLagMonitor.class);
+    private final Counter fallbacks = new SimpleMeterRegistry().counter("db.replica.fallbacks");
+    private final ReplicaFallbackDataSource dataSource =
+            new ReplicaFallbackDataSource(replica, primary, lagMonitor, fallbacks);
+
+    ReplicaFallbackDataSourceTest() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+    }
+
+    @Test
+    void usableReplicaServesTheRead() throws SQLException {
+        when(lagMonitor.isUsable()).thenReturn(true);
+
+        assertSame(replicaConnection, dataSource.getConnection());
+        assertEquals(0, fallbacks.count());
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() throws SQLException {
+        when(lagMonitor.isUsable()).thenReturn(false);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertEquals(1, fallbacks.count());
+        verify(replica, never()).getConnection();
+    }
+
+    @Test
+    void replicaRefusingConnectionsIsMarkedUnavailable() throws SQLException {
+        SQLException refused = new SQLException("Connection refused");
+        when(lagMonitor.isUsable()).thenReturn(true);
+        when(replica.getConnection()).thenThrow(refused);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        verify(lagMonitor).markUnavailable(refused);
+        assertEquals(1, fallbacks.count());
+    }
+
+    @Test
+    void pinnedReadsGoToThePrimary() throws Exception {
+        when(lagMonitor.isUsable()).thenReturn(true);
+
+        Connection connection = PrimaryReads.call(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertSame(primaryConnection, connection);
+        assertEquals(0, fallbacks.count());
+        assertFalse(PrimaryReads.isPinned());
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+}
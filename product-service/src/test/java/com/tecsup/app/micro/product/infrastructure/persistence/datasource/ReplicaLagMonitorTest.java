@@ -0,0 +1,92 @@
+package com.tecsup.app.micro.product.infrastructure.persistence.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReplicaLagMonitorTest {
+
+    private final DataSource replica = mock(DataSource.class);
+    private final ResultSet resultSet = mock(ResultSet.class);
+    private final ReplicaLagMonitor monitor = new ReplicaLagMonitor(replica, Duration.ofSeconds(5));
+
+    ReplicaLagMonitorTest() throws SQLException {
+        Connection connection = mock(Connection.class);
+        Statement statement = mock(Statement.class);
+        when(replica.getConnection()).thenReturn(connection);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+    }
+
+    @AfterEach
+    void close() {
+        monitor.close();
+    }
+
+    @Test
+    void replicaIsUnusableUntilTheFirstMeasurement() {
+        assertFalse(monitor.isUsable());
+        assertEquals(-1, monitor.getLagSeconds());
+    }
+
+    @Test
+    void replicaWithinMaxLagIsUsedAndDroppedWhenItFallsBehind() throws SQLException {
+        when(resultSet.getDouble(1)).thenReturn(1.5, 7.0, 0.0);
+
+        monitor.check();
+        assertTrue(monitor.isUsable());
+        assertEquals(1.5, monitor.getLagSeconds());
+
+        monitor.check();
+        assertFalse(monitor.isUsable());
+        assertEquals(7.0, monitor.getLagSeconds());
+
+        // Vuelve a usarse en cuanto se pone al día
+        monitor.check();
+        assertTrue(monitor.isUsable());
+    }
+
+    @Test
+    void unreachableReplicaIsNotUsed() throws SQLException {
+        when(resultSet.getDouble(1)).thenReturn(0.0);
+        monitor.check();
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        monitor.check();
+
+        assertFalse(monitor.isUsable());
+        assertEquals(-1, monitor.getLagSeconds());
+    }
+
+    @Test
+    void connectionFailureStopsUsingTheReplicaUntilTheNextMeasurement() throws SQLException {
+        when(resultSet.getDouble(1)).thenReturn(0.0);
+        monitor.check();
+
+        monitor.markUnavailable(new SQLException("Connection refused"));
+        assertFalse(monitor.isUsable());
+
+        monitor.check();
+        assertTrue(monitor.isUsable());
+    }
+
+    @Test
+    void scheduledChecksStartImmediately() throws SQLException {
+        when(resultSet.getDouble(1)).thenReturn(0.0);
+
+        monitor.start(Duration.ofMinutes(1));
+
+        verify(replica, timeout(2000)).getConnection();
+    }
+}
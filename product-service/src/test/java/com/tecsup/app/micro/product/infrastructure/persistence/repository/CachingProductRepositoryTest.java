@@ -0,0 +1,188 @@
+package com.tecsup.app.micro.product.infrastructure.persistence.repository;
+
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.infrastructure.config.ProductCacheProperties;
+import com.tecsup.app.micro.product.infrastructure.persistence.datasource.PrimaryReads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingProductRepositoryTest {
+
+    private ProductRepositoryImpl delegate;
+    private CachingProductRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(ProductRepositoryImpl.class);
+        repository = new CachingProductRepository(delegate, new ProductCacheProperties(), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void clearTransaction() {
+        TransactionSynchronizationManager.clear();
+    }
+
+    @Test
+    void findByIdIsServedFromCacheAsDefensiveCopies() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Laptop")));
+
+        Product first = repository.findById(1L).orElseThrow();
+        first.setName("changed by caller");
+        Product second = repository.findById(1L).orElseThrow();
+
+        assertEquals("Laptop", second.getName());
+        verify(delegate, times(1)).findById(1L);
+    }
+
+    @Test
+    void missingProductIsNotCached() {
+        when(delegate.findById(9L)).thenReturn(Optional.empty());
+
+        assertTrue(repository.findById(9L).isEmpty());
+        assertTrue(repository.findById(9L).isEmpty());
+
+        verify(delegate, times(2)).findById(9L);
+    }
+
+    @Test
+    void writesEvictOnlyTheAffectedProducts() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Laptop")));
+        when(delegate.findById(2L)).thenReturn(Optional.of(product(2L, "Mouse")));
+        when(delegate.save(any())).thenReturn(product(1L, "Laptop Pro"));
+        when(delegate.reserveStock(2L, 1)).thenReturn(true);
+
+        repository.findById(1L);
+        repository.findById(2L);
+        repository.save(product(1L, "Laptop Pro"));
+        repository.findById(1L);
+        repository.findById(2L);
+        verify(delegate, times(2)).findById(1L);
+        verify(delegate, times(1)).findById(2L);
+
+        repository.reserveStock(2L, 1);
+        repository.findById(2L);
+        verify(delegate, times(2)).findById(2L);
+    }
+
+    @Test
+    void loadThatOverlapsAnInvalidationIsNotCached() {
+        // La escritura de otra réplica se confirma mientras esta lectura aún trae la versión anterior
+        when(delegate.findById(1L))
+                .thenAnswer(call -> {
+                    repository.evict(Set.of(1L));
+                    return Optional.of(product(1L, "Laptop"));
+                })
+                .thenReturn(Optional.of(product(1L, "Laptop Pro")));
+
+        assertEquals("Laptop", repository.findById(1L).orElseThrow().getName());
+        assertEquals("Laptop Pro", repository.findById(1L).orElseThrow().getName());
+        assertEquals("Laptop Pro", repository.findById(1L).orElseThrow().getName());
+
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void cacheMissesAreLoadedFromThePrimary() {
+        when(delegate.findById(1L)).thenAnswer(call -> {
+            assertTrue(PrimaryReads.isPinned());
+            return Optional.of(product(1L, "Laptop"));
+        });
+
+        repository.findById(1L);
+
+        verify(delegate).findById(1L);
+        assertFalse(PrimaryReads.isPinned());
+    }
+
+    @Test
+    void loadsInsideReadOnlyTransactionsAreNotCached() {
+        // La conexión de la transacción puede venir de la réplica: lo leído no se guarda
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Laptop")));
+        beginWriteTransaction();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        repository.findById(1L);
+        repository.findById(1L);
+        TransactionSynchronizationManager.clear();
+        repository.findById(1L);
+        repository.findById(1L);
+
+        verify(delegate, times(3)).findById(1L);
+    }
+
+    @Test
+    void readsInsideWriteTransactionsBypassTheCache() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Laptop")));
+        beginWriteTransaction();
+
+        repository.findById(1L);
+        repository.findById(1L);
+
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void productIsEvictedAgainAfterCommit() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Laptop")));
+        when(delegate.save(any())).thenReturn(product(1L, "Laptop Pro"));
+        beginWriteTransaction();
+
+        repository.save(product(1L, "Laptop Pro"));
+        // Antes del commit otro hilo (sin transacción) vuelve a cachear la fila aún no confirmada
+        CompletableFuture.runAsync(() -> repository.findById(1L)).join();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clear();
+
+        repository.findById(1L);
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void evictAllEmptiesTheCache() {
+        when(delegate.findById(1L)).thenReturn(Optional.of(product(1L, "Laptop")));
+
+        repository.findById(1L);
+        repository.evictAll();
+        repository.findById(1L);
+
+        verify(delegate, times(2)).findById(1L);
+    }
+
+    @Test
+    void listReadsAreNotCached() {
+        when(delegate.findByCategory("Electronics")).thenReturn(List.of(product(1L, "Laptop")));
+
+        repository.findByCategory("Electronics");
+        repository.findByCategory("Electronics");
+
+        verify(delegate, times(2)).findByCategory("Electronics");
+    }
+
+    private static void beginWriteTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+    }
+
+    private static Product product(Long id, String name) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .price(new BigDecimal("10.00"))
+                .stock(5)
+                .category("Electronics")
+                .build();
+    }
+}
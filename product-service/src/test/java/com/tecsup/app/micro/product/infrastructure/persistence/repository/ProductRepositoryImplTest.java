@@ -0,0 +1,277 @@
+package com.tecsup.app.micro.product.infrastructure.persistence.repository;
+
+import com.tecsup.app.micro.product.PostgresTest;
+import com.tecsup.app.micro.product.application.usecase.ReserveStockUseCase;
+import com.tecsup.app.micro.product.domain.exception.InsufficientStockException;
+import com.tecsup.app.micro.product.domain.model.CategoryFacet;
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductListVersion;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
+import com.tecsup.app.micro.product.domain.model.ProductSearchResult;
+import com.tecsup.app.micro.product.domain.model.ProductSortField;
+import com.tecsup.app.micro.product.domain.model.ProductSummary;
+import com.tecsup.app.micro.product.domain.model.ProductSummaryPage;
+import com.tecsup.app.micro.product.domain.model.StockItem;
+import com.tecsup.app.micro.product.infrastructure.persistence.mapper.ProductPersistenceMapperImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Adaptador de persistencia contra PostgreSQL con el esquema de database/
+ * Cada prueba confirma sus propias transacciones y borra lo que creó
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProductRepositoryImpl.class, ProductPersistenceMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProductRepositoryImplTest extends PostgresTest {
+
+    @Autowired
+    private ProductRepositoryImpl repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        created.forEach(repository::deleteById);
+    }
+
+    @Test
+    void concurrentReservationsNeverOversell() throws Exception {
+        Product product = create("Stock test", "Test", 10);
+
+        List<Callable<Boolean>> reservations = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            reservations.add(() -> repository.reserveStock(product.getId(), 1));
+        }
+        int reserved = 0;
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            for (Future<Boolean> result : executor.invokeAll(reservations)) {
+                reserved += result.get() ? 1 : 0;
+            }
+        }
+
+        assertEquals(10, reserved);
+        assertEquals(0, repository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void failedItemRollsBackTheWholeReservation() {
+        Product first = create("Stock first", "Test", 5);
+        Product second = create("Stock second", "Test", 1);
+        ReserveStockUseCase useCase = new ReserveStockUseCase(repository);
+
+        assertThrows(InsufficientStockException.class, () -> new TransactionTemplate(transactionManager)
+                .executeWithoutResult(status -> useCase.execute(List.of(
+                        new StockItem(first.getId(), 2),
+                        new StockItem(second.getId(), 3)))));
+
+        assertEquals(5, repository.findById(first.getId()).orElseThrow().getStock());
+        assertEquals(1, repository.findById(second.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void releaseReturnsStockAndReportsMissingProducts() {
+        Product product = create("Stock release", "Test", 0);
+
+        assertTrue(repository.releaseStock(product.getId(), 4));
+        assertFalse(repository.releaseStock(-1L, 4));
+        assertEquals(4, repository.findById(product.getId()).orElseThrow().getStock());
+    }
+
+    @Test
+    void staleVersionIsRejectedOnSave() {
+        Product product = create("Version test", "Test", 1);
+
+        Product updated = repository.save(product.toBuilder().name("Version test v2").build());
+        assertEquals(product.getVersion() + 1, updated.getVersion());
+
+        // Segunda escritura basada en la lectura original: el UPDATE ... WHERE version = ? no afecta filas
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> repository.save(product.toBuilder().name("Lost update").build()));
+        assertEquals("Version test v2", repository.findById(product.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void listVersionChangesWhenARowIsReplacedOrUpdated() {
+        Product replaced = create("Version list A", "Test", 1);
+        ProductListVersion before = repository.findListVersion(false, 1L);
+
+        // Baja y alta en el mismo listado: count no cambia, idSum sí
+        repository.deleteById(replaced.getId());
+        created.remove(replaced.getId());
+        Product replacement = create("Version list B", "Test", 1);
+        ProductListVersion afterReplace = repository.findListVersion(false, 1L);
+        assertEquals(before.getCount(), afterReplace.getCount());
+        assertNotEquals(before.getIdSum(), afterReplace.getIdSum());
+
+        // Cualquier escritura incrementa version, también las reservas de stock
+        assertTrue(repository.reserveStock(replacement.getId(), 1));
+        ProductListVersion afterReserve = repository.findListVersion(false, 1L);
+        assertEquals(afterReplace.getVersionSum() + 1, afterReserve.getVersionSum());
+    }
+
+    @Test
+    void textSearchHighlightsMatchesAndEscapesStoredMarkup() {
+        String marker = marker();
+        Product product = create(marker + " Laptop <script>alert(1)</script> & 'co'", "Test", 1);
+
+        ProductSearchResult result = repository.searchText(ProductQuery.builder().text(marker).build());
+
+        assertEquals(List.of(product.getId()), result.getItems().stream().map(Product::getId).toList());
+        String highlight = result.getHighlights().get(product.getId());
+        assertTrue(highlight.contains("<mark>" + marker + "</mark>"), highlight);
+        assertTrue(highlight.contains("&lt;script&gt;alert(1)&lt;/script&gt; &amp; &#39;co&#39;"), highlight);
+        // Sin los <mark> no queda ningún carácter de marcado
+        assertFalse(highlight.replace("<mark>", "").replace("</mark>", "").matches(".*[<>\"'].*"), highlight);
+    }
+
+    @Test
+    void textSearchPagesByRankAndIdWithoutGapsOrDuplicates() {
+        String marker = marker();
+        // Misma relevancia en las tres: el id desempata dentro del cursor (rank, id)
+        Set<Long> ids = Set.of(
+                create(marker + " one", "Test", 1).getId(),
+                create(marker + " two", "Test", 1).getId(),
+                create(marker + " three", "Test", 1).getId());
+
+        ProductSearchResult first = repository.searchText(ProductQuery.builder().text(marker).limit(2).build());
+        assertEquals(2, first.getItems().size());
+        assertNotNull(first.getNextRank());
+        ProductSearchResult second = repository.searchText(ProductQuery.builder().text(marker).limit(2)
+                .after(first.getNextCursor()).afterRank(first.getNextRank()).build());
+        assertEquals(1, second.getItems().size());
+        assertNull(second.getNextCursor());
+
+        Set<Long> found = new HashSet<>();
+        first.getItems().forEach(p -> found.add(p.getId()));
+        second.getItems().forEach(p -> found.add(p.getId()));
+        assertEquals(ids, found);
+    }
+
+    @Test
+    void textSearchAppliesFiltersAndFacetsIgnoreTheCategory() {
+        String marker = marker();
+        Product available = create(marker + " alpha", "TestA", 1);
+        create(marker + " beta", "TestA", 0);
+        create(marker + " gamma", "TestB", 1);
+        ProductQuery query = ProductQuery.builder().text(marker).category("TestA").onlyAvailable(true).build();
+
+        ProductSearchResult result = repository.searchText(query);
+
+        assertEquals(List.of(available.getId()), result.getItems().stream().map(Product::getId).toList());
+        assertEquals(List.of(new CategoryFacet("TestA", 1L), new CategoryFacet("TestB", 1L)),
+                repository.countByCategory(query));
+    }
+
+    @Test
+    void productsAreListedByCreator() {
+        Product product = create("Creator test", "Test", 1);
+
+        assertTrue(repository.findByCreatedBy(1L).stream().anyMatch(p -> p.getId().equals(product.getId())));
+        assertTrue(repository.findByCreatedBy(-1L).isEmpty());
+    }
+
+    @Test
+    void summaryPageProjectsEveryFieldOfTheRow() {
+        String category = marker();
+        Product first = create("Summary one", category, 3);
+        Product second = create("Summary two", category, 0);
+        Product third = create("Summary three", category, 1);
+        ProductQuery.ProductQueryBuilder query = ProductQuery.builder().category(category).limit(2);
+
+        ProductSummaryPage page = repository.findSummaryPage(query.build());
+        assertEquals(second.getId(), page.getNextCursor());
+        assertSummaryOf(first.getId(), page.getItems().get(0));
+        assertSummaryOf(second.getId(), page.getItems().get(1));
+
+        ProductSummaryPage last = repository.findSummaryPage(query.after(page.getNextCursor()).build());
+        assertNull(last.getNextCursor());
+        assertEquals(1, last.getItems().size());
+        assertSummaryOf(third.getId(), last.getItems().get(0));
+        assertFalse(page.getItems().get(1).isAvailable());
+    }
+
+    @Test
+    void sortedCursorSurvivesTheDeletionOfItsRow() {
+        String category = marker();
+        create("Cursor thirty", category, 1, "30.00");
+        Product cheapest = create("Cursor ten", category, 1, "10.00");
+        Product middle = create("Cursor twenty", category, 1, "20.00");
+        ProductQuery.ProductQueryBuilder query = ProductQuery.builder()
+                .category(category).sort(ProductSortField.PRICE).limit(1);
+
+        ProductSummaryPage first = repository.findSummaryPage(query.build());
+        assertEquals(cheapest.getId(), first.getNextCursor());
+        assertEquals("10.00", first.getNextValue());
+
+        // El producto del cursor se borra entre una página y la siguiente
+        repository.deleteById(cheapest.getId());
+        created.remove(cheapest.getId());
+
+        ProductSummaryPage second = repository.findSummaryPage(
+                query.after(first.getNextCursor()).afterValue(first.getNextValue()).build());
+        assertEquals(List.of(middle.getId()), second.getItems().stream().map(ProductSummary::getId).toList());
+        assertEquals("20.00", second.getNextValue());
+    }
+
+    /**
+     * La proyección debe coincidir campo a campo con la fila leída como entidad
+     */
+    private void assertSummaryOf(Long id, ProductSummary summary) {
+        Product product = repository.findById(id).orElseThrow();
+        assertEquals(new ProductSummary(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getStock(), product.getCategory(), product.getCreatedBy(),
+                product.getCreatedAt(), product.getUpdatedAt(), product.getVersion()), summary);
+        assertNotNull(summary.getCreatedAt());
+    }
+
+    /**
+     * Término único por prueba para no coincidir con los datos iniciales
+     */
+    private static String marker() {
+        return "zq" + UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    }
+
+    private Product create(String name, String category, int stock) {
+        return create(name, category, stock, "10.00");
+    }
+
+    private Product create(String name, String category, int stock, String price) {
+        Product product = repository.save(Product.builder()
+                .name(name)
+                .description(name + " description")
+                .price(new BigDecimal(price))
+                .stock(stock)
+                .category(category)
+                .createdBy(1L)
+                .build());
+        created.add(product.getId());
+        return product;
+    }
+}
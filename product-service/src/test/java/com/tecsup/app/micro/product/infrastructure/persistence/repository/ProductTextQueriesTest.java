@@ -0,0 +1,43 @@
+package com.tecsup.app.micro.product.infrastructure.persistence.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ProductTextQueriesTest {
+
+    @Test
+    void buildsPrefixQueryAndDropsOperators() {
+        assertEquals("laptop:* & gam:* & x", ProductTextQueries.toPrefixQuery("Laptop | GAM:* !x laptop"));
+        assertEquals("cámara:* & 4k:*", ProductTextQueries.toPrefixQuery("  Cámara  4K "));
+    }
+
+    @Test
+    void tsquerySyntaxAndQuotesNeverReachTheQuery() {
+        assertEquals("a & bb:* & follows:*", ProductTextQueries.toPrefixQuery("(a | !bb) <-> follows"));
+        assertEquals("o & reilly:* & drop:* & table:*", ProductTextQueries.toPrefixQuery("O'Reilly'; DROP TABLE--"));
+        assertEquals("mark:* & script:*", ProductTextQueries.toPrefixQuery("<mark>\"script\"</mark>"));
+    }
+
+    @Test
+    void keepsLettersAndDigitsOfAnyScript() {
+        assertEquals("niño:* & ñandú:* & 東京:*", ProductTextQueries.toPrefixQuery("Niño-ÑANDÚ/東京"));
+        assertEquals("usb:* & 3 & 0", ProductTextQueries.toPrefixQuery("USB 3.0"));
+    }
+
+    @Test
+    void duplicatesAreRemovedAndTermsAreCapped() {
+        assertEquals("laptop:*", ProductTextQueries.toPrefixQuery("laptop LAPTOP Laptop"));
+        String query = ProductTextQueries.toPrefixQuery("t1 t2 t3 t4 t5 t6 t7 t8 t9 t10");
+        assertEquals(ProductTextQueries.MAX_TERMS, query.split(" & ").length);
+        assertFalse(query.contains("t9"));
+    }
+
+    @Test
+    void returnsNullWithoutTerms() {
+        assertNull(ProductTextQueries.toPrefixQuery(" & | ! "));
+        assertNull(ProductTextQueries.toPrefixQuery(null));
+    }
+}
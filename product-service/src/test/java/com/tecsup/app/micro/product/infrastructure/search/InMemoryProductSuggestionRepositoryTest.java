@@ -0,0 +1,70 @@
+package com.tecsup.app.micro.product.infrastructure.search;
+
+import com.tecsup.app.micro.product.domain.event.ProductChangedEvent;
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductSuggestion;
+import com.tecsup.app.micro.product.domain.repository.ProductRepository;
+import com.tecsup.app.micro.product.infrastructure.persistence.datasource.PrimaryReads;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class InMemoryProductSuggestionRepositoryTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final InMemoryProductSuggestionRepository repository = new InMemoryProductSuggestionRepository(
+            productRepository, mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+    @AfterEach
+    void stop() {
+        repository.stop();
+    }
+
+    @Test
+    void changedProductIsReadAgainFromThePrimary() {
+        when(productRepository.findById(1L)).thenAnswer(call -> {
+            assertTrue(PrimaryReads.isPinned());
+            return Optional.of(product(1L, "Laptop"));
+        });
+
+        repository.onProductChanged(ProductChangedEvent.of(1L));
+
+        assertEquals(List.of(new ProductSuggestion(1L, "Laptop", "Electronics")), repository.suggest("lap", 10));
+    }
+
+    @Test
+    void deletedProductLeavesTheIndex() {
+        when(productRepository.findById(1L))
+                .thenReturn(Optional.of(product(1L, "Laptop")))
+                .thenReturn(Optional.empty());
+
+        repository.onProductChanged(ProductChangedEvent.of(1L));
+        repository.onProductChanged(ProductChangedEvent.of(1L));
+
+        assertTrue(repository.suggest("lap", 10).isEmpty());
+    }
+
+    @Test
+    void stockChangesDoNotReadTheProducts() {
+        repository.onProductChanged(ProductChangedEvent.ofStock(Set.of(1L, 2L)));
+
+        verifyNoInteractions(productRepository);
+    }
+
+    private static Product product(Long id, String name) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .category("Electronics")
+                .build();
+    }
+}
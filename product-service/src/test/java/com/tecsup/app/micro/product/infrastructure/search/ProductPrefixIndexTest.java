@@ -0,0 +1,46 @@
+package com.tecsup.app.micro.product.infrastructure.search;
+
+import com.tecsup.app.micro.product.domain.model.ProductSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProductPrefixIndexTest {
+
+    @Test
+    void suggestsByPrefixOfNameOrCategoryIgnoringCaseAndAccents() {
+        ProductPrefixIndex index = new ProductPrefixIndex();
+        index.put(1L, "Laptop Gamer", "Electrónica");
+        index.put(2L, "Lápiz", "Oficina");
+        index.put(3L, "Mouse", "Electrónica");
+
+        assertEquals(List.of(2L, 1L), ids(index.suggest("LA", 10)));
+        assertEquals(List.of(1L, 3L), ids(index.suggest("electro", 10)));
+        assertEquals(List.of(1L), ids(index.suggest("electronica lap", 10)));
+        assertEquals(List.of(2L), ids(index.suggest("la", 1)));
+    }
+
+    @Test
+    void updatesAndRemovesEntries() {
+        ProductPrefixIndex index = new ProductPrefixIndex();
+        index.put(1L, "Laptop", "Electrónica");
+        long bytes = index.estimatedBytes();
+
+        index.put(1L, "Monitor", "Electrónica");
+        assertTrue(index.suggest("lap", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.suggest("mon", 10)));
+
+        index.remove(1L);
+        assertEquals(0, index.size());
+        assertEquals(0, index.tokenCount());
+        assertEquals(0, index.estimatedBytes());
+        assertTrue(bytes > 0);
+    }
+
+    private static List<Long> ids(List<ProductSuggestion> suggestions) {
+        return suggestions.stream().map(ProductSuggestion::getId).toList();
+    }
+}
@@ -0,0 +1,332 @@
+package com.tecsup.app.micro.product.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tecsup.app.micro.product.application.service.ProductApplicationService;
+import com.tecsup.app.micro.product.domain.exception.ProductVersionConflictException;
+import com.tecsup.app.micro.product.domain.model.CategoryFacet;
+import com.tecsup.app.micro.product.domain.model.Product;
+import com.tecsup.app.micro.product.domain.model.ProductListVersion;
+import com.tecsup.app.micro.product.domain.model.ProductPage;
+import com.tecsup.app.micro.product.domain.model.ProductQuery;
+import com.tecsup.app.micro.product.domain.model.ProductSearchResult;
+import com.tecsup.app.micro.product.domain.model.ProductSummary;
+import com.tecsup.app.micro.product.domain.model.ProductSummaryPage;
+import com.tecsup.app.micro.product.domain.model.ProductVersion;
+import com.tecsup.app.micro.product.infrastructure.client.mapper.UserDtoMapperImpl;
+import com.tecsup.app.micro.product.presentation.mapper.ProductDtoMapperImpl;
+import com.tecsup.app.micro.product.presentation.mapper.ProductRecordParser;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.endsWith;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class ProductControllerTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 3, 1, 10, 0);
+    private static final long LIST_MODIFIED = ETags.epochMillis(UPDATED_AT);
+    private static final String UPDATE_BODY = "{\"name\":\"Laptop Pro\",\"price\":1500.00,\"stock\":3}";
+
+    private final ProductApplicationService service = mock(ProductApplicationService.class);
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final MockMvc mvc;
+
+    ProductControllerTest() {
+        ProductDtoMapperImpl productDtoMapper = new ProductDtoMapperImpl();
+        ReflectionTestUtils.setField(productDtoMapper, "userDtoMapper", new UserDtoMapperImpl());
+        mvc = MockMvcBuilders
+                .standaloneSetup(new ProductController(service, productDtoMapper, objectMapper,
+                        new ProductRecordParser(null, null)))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+                .build();
+    }
+
+    @Test
+    void exportWritesOneJsonDocumentPerLine() throws Exception {
+        exportProducts(product(1L, "Laptop", 0L), product(2L, "Mouse", 0L));
+
+        MvcResult result = mvc.perform(get("/api/products/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        List<String> lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("Laptop", objectMapper.readTree(lines.get(0)).get("name").asText());
+        assertEquals(2L, objectMapper.readTree(lines.get(1)).get("id").asLong());
+    }
+
+    @Test
+    void exportIsCompressedWhenTheClientAcceptsGzip() throws Exception {
+        exportProducts(product(1L, "Laptop", 0L));
+
+        MvcResult result = mvc.perform(get("/api/products/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String line = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+            assertEquals("Laptop", objectMapper.readTree(line).get("name").asText());
+        }
+    }
+
+    @Test
+    void unconditionalGetLoadsTheProductOnceAndTakesTheETagFromIt() throws Exception {
+        when(service.getProductById(1L)).thenReturn(product(1L, "Laptop", 2L));
+
+        mvc.perform(get("/api/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.name").value("Laptop"));
+
+        verify(service, never()).getProductVersion(any());
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModifiedWithoutLoadingTheProduct() throws Exception {
+        when(service.getProductVersion(1L)).thenReturn(new ProductVersion(2L, UPDATED_AT));
+
+        mvc.perform(get("/api/products/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(content().string(""));
+
+        verify(service, never()).getProductById(any());
+    }
+
+    @Test
+    void staleIfNoneMatchReturnsTheCurrentProduct() throws Exception {
+        when(service.getProductVersion(1L)).thenReturn(new ProductVersion(2L, UPDATED_AT));
+        when(service.getProductById(1L)).thenReturn(product(1L, "Laptop", 2L));
+
+        mvc.perform(get("/api/products/1").header(HttpHeaders.IF_NONE_MATCH, "\"1\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(jsonPath("$.version").value(2));
+    }
+
+    @Test
+    void unchangedListIsNotModified() throws Exception {
+        when(service.getProductListVersion(false, null)).thenReturn(new ProductListVersion(3L, 6L, 4L, UPDATED_AT));
+
+        mvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, "W/\"3-6-4-" + LIST_MODIFIED + "\""))
+                .andExpect(status().isNotModified());
+
+        verify(service, never()).getProductSummaries(any());
+    }
+
+    @Test
+    void replacementWithTheSameIdSumChangesTheListETag() throws Exception {
+        // Filas reemplazadas sin mover la suma de ids (ids fuera de orden): solo cambia la última modificación
+        when(service.getProductListVersion(false, null)).thenReturn(new ProductListVersion(3L, 6L, 4L, UPDATED_AT.plusSeconds(1)));
+        when(service.getProductSummaries(any())).thenReturn(new ProductSummaryPage(List.of(), null, null));
+
+        mvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, "W/\"3-6-4-" + LIST_MODIFIED + "\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void replacedRowChangesTheListETag() throws Exception {
+        // Misma cantidad y misma última modificación, pero otra fila: cambia la suma de ids
+        when(service.getProductListVersion(false, null)).thenReturn(new ProductListVersion(3L, 7L, 4L, UPDATED_AT));
+        when(service.getProductSummaries(any())).thenReturn(new ProductSummaryPage(List.of(), null, null));
+
+        mvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, "W/\"3-6-4-" + LIST_MODIFIED + "\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3-7-4-" + LIST_MODIFIED + "\""));
+    }
+
+    @Test
+    void listWithoutExpandServesSummaries() throws Exception {
+        when(service.getProductListVersion(false, null)).thenReturn(new ProductListVersion(1L, 1L, 0L, UPDATED_AT));
+        when(service.getProductSummaries(any())).thenReturn(new ProductSummaryPage(List.of(new ProductSummary(
+                1L, "Laptop", null, new BigDecimal("10.00"), 2, "Electronics", 1L, UPDATED_AT, UPDATED_AT, 0L)),
+                null, null));
+
+        mvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Laptop"))
+                .andExpect(jsonPath("$[0].available").value(true))
+                .andExpect(jsonPath("$[0].version").value(0))
+                .andExpect(jsonPath("$[0].createdByUser").doesNotExist());
+    }
+
+    @Test
+    void expandedListLoadsFullProducts() throws Exception {
+        when(service.getAllProducts(any(), eq(true)))
+                .thenReturn(new ProductPage(List.of(product(1L, "Laptop", 0L)), null, null));
+
+        mvc.perform(get("/api/products?expand=createdByUser"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Laptop"));
+
+        verify(service, never()).getProductSummaries(any());
+        verify(service, never()).getProductListVersion(anyBoolean(), any());
+    }
+
+    @Test
+    void listCursorTravelsInHeaders() throws Exception {
+        when(service.getProductListVersion(false, null)).thenReturn(new ProductListVersion(3L, 6L, 4L, UPDATED_AT));
+        when(service.getProductSummaries(any())).thenReturn(new ProductSummaryPage(List.of(), 50L, null));
+
+        mvc.perform(get("/api/products?limit=50"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "50"))
+                .andExpect(header().doesNotExist("X-Next-Rank"))
+                .andExpect(header().string(HttpHeaders.LINK, allOf(containsString("limit=50"), containsString("after=50"))))
+                .andExpect(jsonPath("$").isArray());
+    }
+
+    @Test
+    void sortedListCursorCarriesTheSortValue() throws Exception {
+        when(service.getProductListVersion(false, null)).thenReturn(new ProductListVersion(3L, 6L, 4L, UPDATED_AT));
+        when(service.getProductSummaries(any())).thenReturn(new ProductSummaryPage(List.of(), 50L, "19.90"));
+
+        mvc.perform(get("/api/products?sort=price&after=40&afterValue=9.50"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "50"))
+                .andExpect(header().string("X-Next-Value", "19.90"))
+                .andExpect(header().string(HttpHeaders.LINK,
+                        allOf(containsString("after=50"), containsString("afterValue=19.90"))));
+
+        verify(service).getProductSummaries(argThat(query ->
+                query.getAfter() == 40L && "9.50".equals(query.getAfterValue())));
+    }
+
+    @Test
+    void textSearchCursorTravelsInHeadersLikeTheLists() throws Exception {
+        when(service.searchProducts(any(), eq(false))).thenReturn(ProductSearchResult.builder()
+                .items(List.of(product(4L, "Laptop", 0L)))
+                .nextCursor(4L)
+                .nextRank(0.25f)
+                .highlights(Map.of(4L, "<mark>Lap</mark>top"))
+                .build());
+
+        mvc.perform(get("/api/products/search?q=lap&after=3&afterRank=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("X-Next-Cursor", "4"))
+                .andExpect(header().string("X-Next-Rank", "0.25"))
+                .andExpect(header().string(HttpHeaders.LINK, allOf(
+                        containsString("q=lap"), containsString("after=4"), containsString("afterRank=0.25"),
+                        endsWith("; rel=\"next\""))))
+                .andExpect(jsonPath("$.items[0].id").value(4))
+                .andExpect(jsonPath("$.highlights.4").value("<mark>Lap</mark>top"))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+
+        ArgumentCaptor<ProductQuery> query = ArgumentCaptor.forClass(ProductQuery.class);
+        verify(service).searchProducts(query.capture(), eq(false));
+        assertEquals("lap", query.getValue().getText());
+        assertEquals(3L, query.getValue().getAfter());
+        assertEquals(0.5f, query.getValue().getAfterRank());
+    }
+
+    @Test
+    void lastSearchPageHasNoNextHeaders() throws Exception {
+        when(service.searchProducts(any(), eq(false))).thenReturn(ProductSearchResult.builder()
+                .items(List.of(product(1L, "Laptop", 0L)))
+                .facets(List.of(new CategoryFacet("Electronics", 1L)))
+                .build());
+
+        mvc.perform(get("/api/products/search").param("category", "Electronics"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"))
+                .andExpect(header().doesNotExist(HttpHeaders.LINK))
+                .andExpect(jsonPath("$.facets[0].count").value(1));
+    }
+
+    @Test
+    void updateWithMatchingIfMatchReturnsTheNewETag() throws Exception {
+        when(service.updateProduct(eq(1L), any(Product.class), eq(3L))).thenReturn(product(1L, "Laptop Pro", 4L));
+
+        mvc.perform(put("/api/products/1").header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void updateWithStaleIfMatchIsPreconditionFailed() throws Exception {
+        when(service.updateProduct(eq(1L), any(Product.class), eq(2L)))
+                .thenThrow(new ProductVersionConflictException(1L));
+
+        mvc.perform(put("/api/products/1").header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void weakIfMatchNeverMatches() throws Exception {
+        mvc.perform(put("/api/products/1").header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(service, never()).updateProduct(any(), any(), any());
+    }
+
+    @Test
+    void concurrentWriteDetectedOnSaveIsPreconditionFailed() throws Exception {
+        when(service.updateProduct(eq(1L), any(Product.class), isNull()))
+                .thenThrow(new OptimisticLockingFailureException("Row was updated by another transaction"));
+
+        mvc.perform(put("/api/products/1").contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void exportProducts(Product... products) {
+        doAnswer(call -> {
+            Consumer<Product> action = call.getArgument(0);
+            List.of(products).forEach(action);
+            return null;
+        }).when(service).exportProducts(any(Consumer.class));
+    }
+
+    private static Product product(Long id, String name, Long version) {
+        return Product.builder()
+                .id(id)
+                .name(name)
+                .price(new BigDecimal("10.00"))
+                .stock(5)
+                .category("Electronics")
+                .createdBy(1L)
+                .createdAt(UPDATED_AT)
+                .updatedAt(UPDATED_AT)
+                .version(version)
+                .build();
+    }
+}
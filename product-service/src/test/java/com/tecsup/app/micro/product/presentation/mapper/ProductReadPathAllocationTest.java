@@ -0,0 +1,90 @@
+package com.tecsup.app.micro.product.presentation.mapper;
+
+import com.tecsup.app.micro.product.domain.model.ProductSummary;
+import com.tecsup.app.micro.product.infrastructure.client.mapper.UserDtoMapperImpl;
+import com.tecsup.app.micro.product.infrastructure.persistence.entity.ProductEntity;
+import com.tecsup.app.micro.product.infrastructure.persistence.mapper.ProductPersistenceMapperImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Bytes asignados por fila al convertir una página de resultados en el cuerpo de la respuesta:
+ * entidad -> Product -> ProductResponse frente a la proyección directa a ProductSummary,
+ * que es lo que sirve el controlador sin expand (la misma lista, sin mapeo por fila).
+ * No incluye lo que Hibernate ahorra además en la proyección (EntityEntry y snapshot de dirty checking)
+ */
+class ProductReadPathAllocationTest {
+
+    private static final int ROWS = 500;
+    private static final int WARMUP = 200;
+    private static final int MEASURED = 20;
+
+    private final ProductPersistenceMapperImpl persistenceMapper = new ProductPersistenceMapperImpl();
+    private final ProductDtoMapperImpl dtoMapper = new ProductDtoMapperImpl();
+    private final List<Object[]> rows = new ArrayList<>();
+
+    ProductReadPathAllocationTest() {
+        ReflectionTestUtils.setField(dtoMapper, "userDtoMapper", new UserDtoMapperImpl());
+        LocalDateTime now = LocalDateTime.now();
+        for (long id = 1; id <= ROWS; id++) {
+            rows.add(new Object[] { id, "Product " + id, "Description " + id, new BigDecimal("19.99"),
+                    (int) (id % 7), "Electronics", 1L, now, now, 0L });
+        }
+    }
+
+    @Test
+    void projectionAllocatesLessThanHalfOfTheMappedPath() {
+        long mapped = bytesPerRow(() -> dtoMapper.toResponseList(persistenceMapper.toDomainList(entities())));
+        long projected = bytesPerRow(this::summaries);
+
+        assertTrue(projected * 2 < mapped, "mapped " + mapped + " B/row, projected " + projected + " B/row");
+    }
+
+    private List<ProductEntity> entities() {
+        List<ProductEntity> entities = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            entities.add(new ProductEntity((Long) row[0], (String) row[1], (String) row[2], (BigDecimal) row[3],
+                    (Integer) row[4], (String) row[5], (Long) row[6], (LocalDateTime) row[7],
+                    (LocalDateTime) row[8], (Long) row[9]));
+        }
+        return entities;
+    }
+
+    private List<ProductSummary> summaries() {
+        List<ProductSummary> summaries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            summaries.add(new ProductSummary((Long) row[0], (String) row[1], (String) row[2], (BigDecimal) row[3],
+                    (Integer) row[4], (String) row[5], (Long) row[6], (LocalDateTime) row[7],
+                    (LocalDateTime) row[8], (Long) row[9]));
+        }
+        return summaries;
+    }
+
+    private static long bytesPerRow(Supplier<List<?>> readPath) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().threadId();
+        List<?> sink = null;
+        for (int i = 0; i < WARMUP; i++) {
+            sink = readPath.get();
+        }
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < MEASURED; i++) {
+            long before = threads.getThreadAllocatedBytes(threadId);
+            sink = readPath.get();
+            min = Math.min(min, threads.getThreadAllocatedBytes(threadId) - before);
+        }
+        assertEquals(ROWS, sink.size());
+        return min / ROWS;
+    }
+}
@@ -0,0 +1,8 @@
+-- ============================================
+-- Migration: V4__POOLED_ID_SEQUENCE.sql
+-- La secuencia de users.id avanza de 50 en 50: Hibernate (optimizador pooled)
+-- reserva un bloque de IDs por cada nextval y puede agrupar los INSERT en lotes JDBC
+-- Debe coincidir con allocationSize de UserEntity
+-- ============================================
+
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
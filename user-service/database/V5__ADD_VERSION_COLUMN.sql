@@ -0,0 +1,6 @@
+-- ============================================
+-- Migration: V5__ADD_VERSION_COLUMN.sql
+-- Versión para bloqueo optimista (@Version en UserEntity, ETag en la API)
+-- ============================================
+
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
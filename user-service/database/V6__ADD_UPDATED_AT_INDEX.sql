@@ -0,0 +1,6 @@
+-- ============================================
+-- Migration: V6__ADD_UPDATED_AT_INDEX.sql
+-- max(updated_at) para el ETag del listado sin recorrer la tabla
+-- ============================================
+
+CREATE INDEX IF NOT EXISTS idx_users_updated_at ON users(updated_at);
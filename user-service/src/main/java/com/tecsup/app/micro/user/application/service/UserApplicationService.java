@@ -2,12 +2,16 @@ package com.tecsup.app.micro.user.application.service;
 
 import com.tecsup.app.micro.user.application.usecase.*;
 import com.tecsup.app.micro.user.domain.model.User;
+import com.tecsup.app.micro.user.domain.model.UserListVersion;
+import com.tecsup.app.micro.user.domain.model.UserVersion;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Servicio de Aplicación de Usuario
@@ -20,9 +24,13 @@ public class UserApplicationService {
     
     private final GetAllUsersUseCase getAllUsersUseCase;
     private final GetUserByIdUseCase getUserByIdUseCase;
+    private final GetUsersByIdsUseCase getUsersByIdsUseCase;
     private final CreateUserUseCase createUserUseCase;
     private final UpdateUserUseCase updateUserUseCase;
     private final DeleteUserUseCase deleteUserUseCase;
+    private final ExportUsersUseCase exportUsersUseCase;
+    private final GetUserVersionUseCase getUserVersionUseCase;
+    private final GetUserListVersionUseCase getUserListVersionUseCase;
     
     @Transactional(readOnly = true)
     public List<User> getAllUsers() {
@@ -34,14 +42,37 @@ public class UserApplicationService {
         return getUserByIdUseCase.execute(id);
     }
     
+    @Transactional(readOnly = true)
+    public UserVersion getUserVersion(Long id) {
+        return getUserVersionUseCase.execute(id);
+    }
+    
+    @Transactional(readOnly = true)
+    public UserListVersion getUserListVersion() {
+        return getUserListVersionUseCase.execute();
+    }
+    
+    @Transactional(readOnly = true)
+    public List<User> getUsersByIds(Collection<Long> ids) {
+        return getUsersByIdsUseCase.execute(ids);
+    }
+    
+    /**
+     * El cursor de la base de datos vive mientras dure la transacción
+     */
+    @Transactional(readOnly = true)
+    public void exportUsers(Consumer<User> action) {
+        exportUsersUseCase.execute(action);
+    }
+    
     @Transactional
     public User createUser(User user) {
         return createUserUseCase.execute(user);
     }
     
     @Transactional
-    public User updateUser(Long id, User user) {
-        return updateUserUseCase.execute(id, user);
+    public User updateUser(Long id, User user, Long expectedVersion) {
+        return updateUserUseCase.execute(id, user, expectedVersion);
     }
     
     @Transactional
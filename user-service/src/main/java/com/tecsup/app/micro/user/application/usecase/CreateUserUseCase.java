@@ -1,11 +1,13 @@
 package com.tecsup.app.micro.user.application.usecase;
 
+import com.tecsup.app.micro.user.domain.event.UserChangedEvent;
 import com.tecsup.app.micro.user.domain.exception.DuplicateEmailException;
 import com.tecsup.app.micro.user.domain.exception.InvalidUserDataException;
 import com.tecsup.app.micro.user.domain.model.User;
 import com.tecsup.app.micro.user.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 /**
@@ -17,6 +19,7 @@ import org.springframework.stereotype.Component;
 public class CreateUserUseCase {
     
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public User execute(User user) {
         log.debug("Executing CreateUserUseCase for email: {}", user.getEmail());
@@ -35,6 +38,10 @@ public class CreateUserUseCase {
         User savedUser = userRepository.save(user);
         log.info("User created successfully with id: {}", savedUser.getId());
         
+        // Notificar a los consumidores (se entrega solo si la transacción hace commit)
+        eventPublisher.publishEvent(new UserChangedEvent(
+                savedUser.getId(), savedUser.getVersion(), UserChangedEvent.Operation.CREATED));
+        
         return savedUser;
     }
 }
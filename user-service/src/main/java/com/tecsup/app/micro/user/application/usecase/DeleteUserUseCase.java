@@ -1,9 +1,12 @@
 package com.tecsup.app.micro.user.application.usecase;
 
+import com.tecsup.app.micro.user.domain.event.UserChangedEvent;
 import com.tecsup.app.micro.user.domain.exception.UserNotFoundException;
+import com.tecsup.app.micro.user.domain.model.User;
 import com.tecsup.app.micro.user.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 /**
@@ -15,17 +18,21 @@ import org.springframework.stereotype.Component;
 public class DeleteUserUseCase {
     
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
     public void execute(Long id) {
         log.debug("Executing DeleteUserUseCase for id: {}", id);
         
         // Verificar que el usuario existe
-        if (!userRepository.findById(id).isPresent()) {
-            throw new UserNotFoundException(id);
-        }
+        User existingUser = userRepository.findById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
         
         // Eliminar usuario
         userRepository.deleteById(id);
         log.info("User deleted successfully with id: {}", id);
+        
+        // Notificar a los consumidores (se entrega solo si la transacción hace commit)
+        eventPublisher.publishEvent(new UserChangedEvent(
+                id, existingUser.getVersion(), UserChangedEvent.Operation.DELETED));
     }
 }
@@ -0,0 +1,25 @@
+package com.tecsup.app.micro.user.application.usecase;
+
+import com.tecsup.app.micro.user.domain.model.User;
+import com.tecsup.app.micro.user.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Caso de uso: Exportar todos los usuarios en streaming
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ExportUsersUseCase {
+    
+    private final UserRepository userRepository;
+    
+    public void execute(Consumer<User> action) {
+        log.debug("Executing ExportUsersUseCase");
+        userRepository.forEach(action);
+    }
+}
@@ -0,0 +1,23 @@
+package com.tecsup.app.micro.user.application.usecase;
+
+import com.tecsup.app.micro.user.domain.model.UserListVersion;
+import com.tecsup.app.micro.user.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caso de uso: Obtener la versión del listado de usuarios
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GetUserListVersionUseCase {
+    
+    private final UserRepository userRepository;
+    
+    public UserListVersion execute() {
+        log.debug("Executing GetUserListVersionUseCase");
+        return userRepository.findListVersion();
+    }
+}
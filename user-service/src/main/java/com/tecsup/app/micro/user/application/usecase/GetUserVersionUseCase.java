@@ -0,0 +1,25 @@
+package com.tecsup.app.micro.user.application.usecase;
+
+import com.tecsup.app.micro.user.domain.exception.UserNotFoundException;
+import com.tecsup.app.micro.user.domain.model.UserVersion;
+import com.tecsup.app.micro.user.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caso de uso: Obtener la versión actual de un usuario
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GetUserVersionUseCase {
+    
+    private final UserRepository userRepository;
+    
+    public UserVersion execute(Long id) {
+        log.debug("Executing GetUserVersionUseCase for id: {}", id);
+        return userRepository.findVersionById(id)
+                .orElseThrow(() -> new UserNotFoundException(id));
+    }
+}
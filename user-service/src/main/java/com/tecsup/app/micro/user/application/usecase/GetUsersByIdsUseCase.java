@@ -0,0 +1,46 @@
+package com.tecsup.app.micro.user.application.usecase;
+
+import com.tecsup.app.micro.user.domain.exception.InvalidUserDataException;
+import com.tecsup.app.micro.user.domain.model.User;
+import com.tecsup.app.micro.user.domain.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Caso de uso: Obtener varios usuarios por ID en una sola consulta
+ * Los IDs inexistentes simplemente no aparecen en el resultado
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class GetUsersByIdsUseCase {
+    
+    public static final int MAX_BATCH_SIZE = 500;
+    
+    private final UserRepository userRepository;
+    
+    public List<User> execute(Collection<Long> ids) {
+        log.debug("Executing GetUsersByIdsUseCase for {} ids", ids == null ? 0 : ids.size());
+        
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        
+        // Eliminar duplicados y nulos conservando el orden de llegada
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.removeIf(Objects::isNull);
+        
+        if (distinctIds.size() > MAX_BATCH_SIZE) {
+            throw new InvalidUserDataException("Too many ids. Maximum allowed per request is " + MAX_BATCH_SIZE);
+        }
+        
+        return userRepository.findAllById(distinctIds);
+    }
+}
@@ -1,12 +1,15 @@
 package com.tecsup.app.micro.user.application.usecase;
 
+import com.tecsup.app.micro.user.domain.event.UserChangedEvent;
 import com.tecsup.app.micro.user.domain.exception.DuplicateEmailException;
 import com.tecsup.app.micro.user.domain.exception.InvalidUserDataException;
 import com.tecsup.app.micro.user.domain.exception.UserNotFoundException;
+import com.tecsup.app.micro.user.domain.exception.UserVersionConflictException;
 import com.tecsup.app.micro.user.domain.model.User;
 import com.tecsup.app.micro.user.domain.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 /**
@@ -18,14 +21,23 @@ import org.springframework.stereotype.Component;
 public class UpdateUserUseCase {
     
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
     
-    public User execute(Long id, User userDetails) {
+    /**
+     * @param expectedVersion versión enviada en If-Match; null para no condicionar la actualización
+     */
+    public User execute(Long id, User userDetails, Long expectedVersion) {
         log.debug("Executing UpdateUserUseCase for id: {}", id);
         
         // Verificar que el usuario existe
         User existingUser = userRepository.findById(id)
                 .orElseThrow(() -> new UserNotFoundException(id));
         
+        // Verificar que nadie lo modificó desde que el cliente lo leyó
+        if (expectedVersion != null && !expectedVersion.equals(existingUser.getVersion())) {
+            throw new UserVersionConflictException(id);
+        }
+        
         // Validar datos del usuario
         if (!userDetails.isValid()) {
             throw new InvalidUserDataException("Invalid user data. Name and valid email are required.");
@@ -48,6 +60,10 @@ public class UpdateUserUseCase {
         User updatedUser = userRepository.save(existingUser);
         log.info("User updated successfully with id: {}", updatedUser.getId());
         
+        // Notificar a los consumidores (se entrega solo si la transacción hace commit)
+        eventPublisher.publishEvent(new UserChangedEvent(
+                updatedUser.getId(), updatedUser.getVersion(), UserChangedEvent.Operation.UPDATED));
+        
         return updatedUser;
     }
 }
@@ -0,0 +1,25 @@
+package com.tecsup.app.micro.user.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Evento de dominio emitido cuando un usuario se crea, actualiza o elimina
+ * Los consumidores (p. ej. product-service) lo usan para invalidar sus cachés
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserChangedEvent {
+
+    private Long id;
+    private Long version;
+    private Operation op;
+
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
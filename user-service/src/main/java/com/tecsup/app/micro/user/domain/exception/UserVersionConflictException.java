@@ -0,0 +1,11 @@
+package com.tecsup.app.micro.user.domain.exception;
+
+/**
+ * Excepción cuando la versión esperada (If-Match) no coincide con la versión actual del usuario
+ */
+public class UserVersionConflictException extends RuntimeException {
+    
+    public UserVersionConflictException(Long id) {
+        super("User " + id + " was modified by another request (version mismatch)");
+    }
+}
@@ -24,6 +24,7 @@ public class User {
     private String address;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     
     /**
      * Valida que el usuario tenga los datos mínimos requeridos
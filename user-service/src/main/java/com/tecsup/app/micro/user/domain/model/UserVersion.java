@@ -0,0 +1,20 @@
+package com.tecsup.app.micro.user.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Versión y fecha de modificación de un usuario, sin cargar el resto de la fila
+ * Sirve para responder peticiones condicionales (If-None-Match / If-Modified-Since)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserVersion {
+    
+    private Long version;
+    private LocalDateTime updatedAt;
+}
@@ -1,9 +1,13 @@
 package com.tecsup.app.micro.user.domain.repository;
 
 import com.tecsup.app.micro.user.domain.model.User;
+import com.tecsup.app.micro.user.domain.model.UserListVersion;
+import com.tecsup.app.micro.user.domain.model.UserVersion;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Puerto del Repositorio de Usuario (Interface)
@@ -17,11 +21,31 @@ public interface UserRepository {
      */
     List<User> findAll();
     
+    /**
+     * Recorre todos los usuarios uno a uno, sin cargarlos todos en memoria
+     */
+    void forEach(Consumer<User> action);
+    
     /**
      * Busca un usuario por ID
      */
     Optional<User> findById(Long id);
     
+    /**
+     * Obtiene solo la versión y fecha de modificación de un usuario
+     */
+    Optional<UserVersion> findVersionById(Long id);
+    
+    /**
+     * Obtiene el agregado de versión del listado de usuarios
+     */
+    UserListVersion findListVersion();
+    
+    /**
+     * Busca varios usuarios por sus IDs en una sola consulta
+     */
+    List<User> findAllById(Collection<Long> ids);
+    
     /**
      * Busca un usuario por email
      */
@@ -0,0 +1,40 @@
+package com.tecsup.app.micro.user.infrastructure.messaging;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tecsup.app.micro.user.domain.event.UserChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Publica los cambios de usuarios con PostgreSQL NOTIFY
+ * El NOTIFY se ejecuta dentro de la transacción: PostgreSQL solo lo entrega
+ * a los suscriptores si la transacción hace commit
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostgresUserChangeNotifier {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${user.events.channel:user_changes}")
+    private String channel;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onUserChanged(UserChangedEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", String.class, channel, payload);
+            log.debug("User change notified on channel {}: {}", channel, payload);
+        } catch (JsonProcessingException e) {
+            log.error("Could not serialize user change event {}: {}", event, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.tecsup.app.micro.user.infrastructure.persistence.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Las peticiones con X-Read-Primary: true leen del primario (PrimaryReads)
+ * product-service la envía al recargar un usuario tras su evento de cambio:
+ * la réplica podría devolver todavía la versión anterior
+ */
+public class PrimaryReadFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Read-Primary";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (!Boolean.parseBoolean(request.getHeader(HEADER))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        boolean previous = PrimaryReads.pin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryReads.restore(previous);
+        }
+    }
+}
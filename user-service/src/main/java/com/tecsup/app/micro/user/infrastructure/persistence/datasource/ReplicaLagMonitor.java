@@ -0,0 +1,98 @@
+package com.tecsup.app.micro.user.infrastructure.persistence.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide periódicamente el retraso de replicación de la réplica de lectura
+ * La réplica deja de usarse si el retraso supera maxLag o si no responde, y vuelve
+ * a usarse en cuanto una medición posterior está dentro del límite
+ */
+@Slf4j
+public class ReplicaLagMonitor implements AutoCloseable {
+
+    // Sin WAL pendiente de aplicar el retraso es 0 aunque el primario lleve tiempo sin escrituras;
+    // fuera de recuperación (no es una réplica) también es 0
+    private static final String LAG_SQL = "SELECT CASE"
+            + " WHEN NOT pg_is_in_recovery() THEN 0"
+            + " WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0"
+            + " ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource replica;
+    private final double maxLagSeconds;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile boolean usable;
+    private volatile double lagSeconds = -1;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag) {
+        this.replica = replica;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start(Duration interval) {
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isUsable() {
+        return usable;
+    }
+
+    /**
+     * Último retraso medido en segundos; -1 si la réplica no respondió
+     */
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * La réplica falló al entregar una conexión: se deja de usar hasta la próxima medición
+     */
+    public void markUnavailable(SQLException cause) {
+        if (usable) {
+            log.warn("Read replica unavailable, routing reads to primary: {}", cause.getMessage());
+        }
+        usable = false;
+        lagSeconds = -1;
+    }
+
+    void check() {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LAG_SQL)) {
+            rs.next();
+            double lag = rs.getDouble(1);
+            boolean withinLimit = lag <= maxLagSeconds;
+            if (withinLimit != usable) {
+                log.info("Read replica lag {}s (max {}s): reads go to {}",
+                        lag, maxLagSeconds, withinLimit ? "replica" : "primary");
+            }
+            lagSeconds = lag;
+            usable = withinLimit;
+        } catch (SQLException e) {
+            markUnavailable(e);
+        } catch (RuntimeException e) {
+            log.warn("Could not measure read replica lag: {}", e.getMessage());
+            usable = false;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -13,10 +15,13 @@ import java.time.LocalDateTime;
  * Esta clase pertenece a la capa de infraestructura y maneja la persistencia
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserEntity.CACHE_REGION)
 @Table(name = "users", indexes = {
     @Index(name = "idx_users_email", columnList = "email", unique = true),
     @Index(name = "idx_users_name", columnList = "name"),
-    @Index(name = "idx_users_created_at", columnList = "created_at")
+    @Index(name = "idx_users_created_at", columnList = "created_at"),
+    @Index(name = "idx_users_updated_at", columnList = "updated_at")
 })
 @Data
 @Builder
@@ -24,8 +29,16 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class UserEntity {
     
+    // Debe coincidir con el INCREMENT BY de la secuencia (migración POOLED_ID_SEQUENCE)
+    public static final String ID_SEQUENCE = "users_id_seq";
+    
+    // Región de la caché de segundo nivel (solo se usa con user.l2-cache.enabled)
+    public static final String CACHE_REGION = "users";
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id")
+    @SequenceGenerator(name = "users_id", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false, length = 100)
@@ -46,6 +59,11 @@ public class UserEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // Bloqueo optimista: cada UPDATE incluye "WHERE version = ?" y la incrementa
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         LocalDateTime now = LocalDateTime.now();
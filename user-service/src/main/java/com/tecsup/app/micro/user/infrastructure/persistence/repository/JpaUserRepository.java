@@ -1,9 +1,17 @@
 package com.tecsup.app.micro.user.infrastructure.persistence.repository;
 
+import com.tecsup.app.micro.user.domain.model.UserListVersion;
+import com.tecsup.app.micro.user.domain.model.UserVersion;
 import com.tecsup.app.micro.user.infrastructure.persistence.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositorio JPA de Usuario
@@ -11,7 +19,29 @@ import java.util.Optional;
  */
 public interface JpaUserRepository extends JpaRepository<UserEntity, Long> {
     
+    // Resultados en la caché de consultas de Hibernate cuando la caché de segundo nivel está activa
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserEntity> findByEmail(String email);
     
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     boolean existsByEmail(String email);
+    
+    @Query("SELECT new com.tecsup.app.micro.user.domain.model.UserVersion(u.version, u.updatedAt) "
+            + "FROM UserEntity u WHERE u.id = :id")
+    Optional<UserVersion> findVersionById(@Param("id") Long id);
+    
+    @Query("SELECT new com.tecsup.app.micro.user.domain.model.UserListVersion(COUNT(u), "
+            + "COALESCE(SUM(u.id), 0), COALESCE(SUM(u.version), 0), MAX(u.updatedAt)) FROM UserEntity u")
+    UserListVersion findListVersion();
+    
+    /**
+     * Recorre toda la tabla con un cursor del servidor (fetch size) sin materializarla;
+     * debe consumirse dentro de una transacción y cerrarse al terminar
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM UserEntity u ORDER BY u.id")
+    Stream<UserEntity> streamAll();
 }
@@ -1,15 +1,21 @@
 package com.tecsup.app.micro.user.infrastructure.persistence.repository;
 
 import com.tecsup.app.micro.user.domain.model.User;
+import com.tecsup.app.micro.user.domain.model.UserListVersion;
+import com.tecsup.app.micro.user.domain.model.UserVersion;
 import com.tecsup.app.micro.user.domain.repository.UserRepository;
 import com.tecsup.app.micro.user.infrastructure.persistence.entity.UserEntity;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementación del repositorio de Usuario (Adaptador)
@@ -21,6 +27,7 @@ import java.util.stream.Collectors;
 public class UserRepositoryImpl implements UserRepository {
     
     private final JpaUserRepository jpaUserRepository;
+    private final EntityManager entityManager;
     
     @Override
     public List<User> findAll() {
@@ -31,6 +38,18 @@ public class UserRepositoryImpl implements UserRepository {
                 .collect(Collectors.toList());
     }
     
+    @Override
+    public void forEach(Consumer<User> action) {
+        log.debug("Streaming all users");
+        try (Stream<UserEntity> entities = jpaUserRepository.streamAll()) {
+            entities.forEach(entity -> {
+                action.accept(toDomain(entity));
+                // Sin detach el contexto de persistencia retendría cada fila leída
+                entityManager.detach(entity);
+            });
+        }
+    }
+    
     @Override
     public Optional<User> findById(Long id) {
         log.debug("Finding user by id: {}", id);
@@ -38,6 +57,27 @@ public class UserRepositoryImpl implements UserRepository {
                 .map(this::toDomain);
     }
     
+    @Override
+    public Optional<UserVersion> findVersionById(Long id) {
+        log.debug("Finding user version by id: {}", id);
+        return jpaUserRepository.findVersionById(id);
+    }
+    
+    @Override
+    public UserListVersion findListVersion() {
+        log.debug("Finding user list version");
+        return jpaUserRepository.findListVersion();
+    }
+    
+    @Override
+    public List<User> findAllById(Collection<Long> ids) {
+        log.debug("Finding users by ids: {}", ids);
+        return jpaUserRepository.findAllById(ids)
+                .stream()
+                .map(this::toDomain)
+                .collect(Collectors.toList());
+    }
+    
     @Override
     public Optional<User> findByEmail(String email) {
         log.debug("Finding user by email: {}", email);
@@ -49,7 +89,8 @@ public class UserRepositoryImpl implements UserRepository {
     public User save(User user) {
         log.debug("Saving user: {}", user.getEmail());
         UserEntity entity = toEntity(user);
-        UserEntity savedEntity = jpaUserRepository.save(entity);
+        // flush para devolver la versión y updated_at definitivos (el UPDATE valida la versión)
+        UserEntity savedEntity = jpaUserRepository.saveAndFlush(entity);
         return toDomain(savedEntity);
     }
     
@@ -76,6 +117,7 @@ public class UserRepositoryImpl implements UserRepository {
                 .address(entity.getAddress())
                 .createdAt(entity.getCreatedAt())
                 .updatedAt(entity.getUpdatedAt())
+                .version(entity.getVersion())
                 .build();
     }
     
@@ -88,6 +130,7 @@ public class UserRepositoryImpl implements UserRepository {
                 .address(user.getAddress())
                 .createdAt(user.getCreatedAt())
                 .updatedAt(user.getUpdatedAt())
+                .version(user.getVersion())
                 .build();
     }
 }
@@ -0,0 +1,64 @@
+package com.tecsup.app.micro.user.presentation.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Conversión entre la versión de una entidad y su ETag fuerte ("<versión>"),
+ * y ETags débiles para listados
+ */
+final class ETags {
+    
+    private ETags() {
+    }
+    
+    static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+    
+    /**
+     * ETag débil de un listado: W/"<cantidad>-<suma de ids>-<suma de versiones>-<última modificación>"
+     * No depende del orden de los ids: un reemplazo que deja igual la suma de ids mueve la fecha
+     */
+    static String weak(Long count, Long idSum, Long versionSum, LocalDateTime lastModified) {
+        return "W/\"" + count + "-" + idSum + "-" + versionSum + "-" + epochMillis(lastModified) + "\"";
+    }
+    
+    /**
+     * true si la petición trae alguna precondición que checkNotModified evalúa;
+     * sin ellas no hace falta consultar la versión antes de cargar la entidad
+     */
+    static boolean isConditional(WebRequest webRequest) {
+        return webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null
+                || webRequest.getHeader(HttpHeaders.IF_MATCH) != null
+                || webRequest.getHeader(HttpHeaders.IF_UNMODIFIED_SINCE) != null;
+    }
+    
+    /**
+     * Milisegundos para Last-Modified; -1 (sin cabecera) si no hay fecha
+     * Hibernate guarda LocalDateTime en la zona horaria de la JVM
+     */
+    static long epochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? -1 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    /**
+     * Extrae la versión de un ETag fuerte; null si es débil (W/) o no es una versión
+     * If-Match usa comparación fuerte, así que un ETag débil nunca coincide
+     */
+    static Long parseVersion(String etag) {
+        String value = etag.trim();
+        if (value.length() < 2 || !value.startsWith("\"") || !value.endsWith("\"")) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.substring(1, value.length() - 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -3,9 +3,11 @@ package com.tecsup.app.micro.user.presentation.controller;
 import com.tecsup.app.micro.user.domain.exception.DuplicateEmailException;
 import com.tecsup.app.micro.user.domain.exception.InvalidUserDataException;
 import com.tecsup.app.micro.user.domain.exception.UserNotFoundException;
+import com.tecsup.app.micro.user.domain.exception.UserVersionConflictException;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -52,6 +54,22 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
     
+    /**
+     * Maneja UserVersionConflictException y los conflictos detectados por @Version al guardar
+     */
+    @ExceptionHandler({UserVersionConflictException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ErrorResponse> handleVersionConflict(RuntimeException ex) {
+        log.warn("Version conflict: {}", ex.getMessage());
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                ex instanceof UserVersionConflictException
+                        ? ex.getMessage()
+                        : "User was modified by another request (version mismatch)",
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+    
     /**
      * Maneja InvalidUserDataException
      */
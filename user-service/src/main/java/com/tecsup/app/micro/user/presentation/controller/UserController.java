@@ -1,19 +1,35 @@
 package com.tecsup.app.micro.user.presentation.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.tecsup.app.micro.user.application.service.UserApplicationService;
+import com.tecsup.app.micro.user.domain.exception.UserVersionConflictException;
 import com.tecsup.app.micro.user.domain.model.User;
+import com.tecsup.app.micro.user.domain.model.UserListVersion;
+import com.tecsup.app.micro.user.domain.model.UserVersion;
 import com.tecsup.app.micro.user.presentation.dto.CreateUserRequest;
 import com.tecsup.app.micro.user.presentation.dto.UpdateUserRequest;
+import com.tecsup.app.micro.user.presentation.dto.UserBatchRequest;
 import com.tecsup.app.micro.user.presentation.dto.UserResponse;
 import com.tecsup.app.micro.user.presentation.mapper.UserDtoMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Controlador REST de Usuarios
@@ -26,25 +42,104 @@ public class UserController {
     
     private final UserApplicationService userApplicationService;
     private final UserDtoMapper userDtoMapper;
+    private final ObjectMapper objectMapper;
     
     /**
      * Obtiene todos los usuarios
+     * Responde 304 si el listado no cambió (If-None-Match / If-Modified-Since)
+     * If-None-Match tiene precedencia: solo el ETag detecta una fila reemplazada
      */
     @GetMapping
-    public ResponseEntity<List<UserResponse>> getAllUsers() {
+    public ResponseEntity<List<UserResponse>> getAllUsers(WebRequest webRequest) {
         log.info("REST request to get all users");
+        UserListVersion version = userApplicationService.getUserListVersion();
+        if (webRequest.checkNotModified(
+                ETags.weak(version.getCount(), version.getIdSum(), version.getVersionSum(),
+                        version.getLastModified()),
+                ETags.epochMillis(version.getLastModified()))) {
+            return null;
+        }
         List<User> users = userApplicationService.getAllUsers();
         return ResponseEntity.ok(userDtoMapper.toResponseList(users));
     }
     
+    /**
+     * Exporta todos los usuarios como NDJSON (un usuario por línea)
+     * Las filas se escriben a medida que llegan del cursor de la base de datos;
+     * si el cliente envía Accept-Encoding: gzip la respuesta se comprime
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        log.info("REST request to export users");
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        ObjectWriter writer = objectMapper.writerFor(UserResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(target)) {
+                generator.setRootValueSeparator(null);
+                userApplicationService.exportUsers(user -> {
+                    try {
+                        writer.writeValue(generator, userDtoMapper.toResponse(user));
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+    
+    /**
+     * Obtiene varios usuarios por ID en una sola consulta (?ids=1,2,3)
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<List<UserResponse>> getUsersByIds(@RequestParam List<Long> ids) {
+        log.info("REST request to get users by ids: {}", ids);
+        List<User> users = userApplicationService.getUsersByIds(ids);
+        return ResponseEntity.ok(userDtoMapper.toResponseList(users));
+    }
+    
+    /**
+     * Variante POST de la consulta por lotes, para listas de IDs largas
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<UserResponse>> getUsersByIds(@Valid @RequestBody UserBatchRequest request) {
+        log.info("REST request to get users by ids (batch body): {}", request.getIds().size());
+        List<User> users = userApplicationService.getUsersByIds(request.getIds());
+        return ResponseEntity.ok(userDtoMapper.toResponseList(users));
+    }
+    
     /**
      * Obtiene un usuario por ID
+     * La cabecera ETag lleva la versión, para usarla luego en If-Match
+     * Con If-None-Match / If-Modified-Since responde 304 consultando solo la versión;
+     * sin precondiciones se carga el usuario directamente y los validadores salen de él
      */
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id) {
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long id, WebRequest webRequest) {
         log.info("REST request to get user by id: {}", id);
+        if (ETags.isConditional(webRequest)) {
+            UserVersion version = userApplicationService.getUserVersion(id);
+            if (webRequest.checkNotModified(ETags.of(version.getVersion()), ETags.epochMillis(version.getUpdatedAt()))) {
+                return null;
+            }
+        }
         User user = userApplicationService.getUserById(id);
-        return ResponseEntity.ok(userDtoMapper.toResponse(user));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(ETags.of(user.getVersion()));
+        if (user.getUpdatedAt() != null) {
+            response.lastModified(ETags.epochMillis(user.getUpdatedAt()));
+        }
+        return response.body(userDtoMapper.toResponse(user));
     }
     
     /**
@@ -61,15 +156,19 @@ public class UserController {
     
     /**
      * Actualiza un usuario existente
+     * Con If-Match: "<versión>" solo se actualiza si nadie lo modificó antes; si no, 412
      */
     @PutMapping("/{id}")
     public ResponseEntity<UserResponse> updateUser(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody UpdateUserRequest request) {
         log.info("REST request to update user with id: {}", id);
         User user = userDtoMapper.toDomain(request);
-        User updatedUser = userApplicationService.updateUser(id, user);
-        return ResponseEntity.ok(userDtoMapper.toResponse(updatedUser));
+        User updatedUser = userApplicationService.updateUser(id, user, expectedVersion(id, ifMatch));
+        return ResponseEntity.ok()
+                .eTag(ETags.of(updatedUser.getVersion()))
+                .body(userDtoMapper.toResponse(updatedUser));
     }
     
     /**
@@ -89,4 +188,18 @@ public class UserController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("User Service running with Clean Architecture!");
     }
+    
+    /**
+     * Versión exigida por If-Match; null si no se envió o es "*"
+     */
+    private Long expectedVersion(Long id, String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        Long version = ETags.parseVersion(ifMatch);
+        if (version == null) {
+            throw new UserVersionConflictException(id);
+        }
+        return version;
+    }
 }
@@ -0,0 +1,22 @@
+package com.tecsup.app.micro.user.presentation.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO para consultar varios usuarios por ID en una sola llamada
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserBatchRequest {
+    
+    @NotEmpty(message = "Ids are required")
+    private List<Long> ids;
+}
@@ -23,4 +23,5 @@ public class UserResponse {
     private String address;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 }
@@ -0,0 +1,47 @@
+package com.tecsup.app.micro.user;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.MountableFile;
+
+/**
+ * Base de las pruebas contra PostgreSQL real: un único contenedor por ejecución,
+ * inicializado con las migraciones de database/ igual que userdb.
+ * Las pruebas se omiten si no hay Docker disponible.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public abstract class PostgresTest {
+
+    private static PostgreSQLContainer<?> postgres;
+
+    protected static synchronized PostgreSQLContainer<?> postgres() {
+        if (postgres == null) {
+            postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+                    .withDatabaseName("userdb")
+                    .withCopyFileToContainer(MountableFile.forHostPath("database"), "/docker-entrypoint-initdb.d/");
+            postgres.start();
+        }
+        return postgres;
+    }
+
+    protected static String jdbcUrl() {
+        return postgres().getJdbcUrl();
+    }
+
+    protected static String username() {
+        return postgres().getUsername();
+    }
+
+    protected static String password() {
+        return postgres().getPassword();
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PostgresTest::jdbcUrl);
+        registry.add("spring.datasource.username", PostgresTest::username);
+        registry.add("spring.datasource.password", PostgresTest::password);
+    }
+}
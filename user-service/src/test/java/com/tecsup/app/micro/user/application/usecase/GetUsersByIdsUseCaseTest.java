@@ -0,0 +1,43 @@
+package com.tecsup.app.micro.user.application.usecase;
+
+import com.tecsup.app.micro.user.domain.exception.InvalidUserDataException;
+import com.tecsup.app.micro.user.domain.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class GetUsersByIdsUseCaseTest {
+
+    private final UserRepository repository = mock(UserRepository.class);
+    private final GetUsersByIdsUseCase useCase = new GetUsersByIdsUseCase(repository);
+
+    @Test
+    void duplicatesAndNullsAreDroppedBeforeTheSingleQuery() {
+        when(repository.findAllById(anyCollection())).thenReturn(List.of());
+
+        useCase.execute(Arrays.asList(3L, null, 1L, 3L));
+
+        verify(repository, times(1)).findAllById(Set.of(3L, 1L));
+    }
+
+    @Test
+    void emptyRequestDoesNotQuery() {
+        assertTrue(useCase.execute(List.of()).isEmpty());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void batchesOverTheLimitAreRejected() {
+        List<Long> ids = LongStream.rangeClosed(1, GetUsersByIdsUseCase.MAX_BATCH_SIZE + 1).boxed().toList();
+
+        assertThrows(InvalidUserDataException.class, () -> useCase.execute(ids));
+        verifyNoInteractions(repository);
+    }
+}
@@ -0,0 +1,51 @@
+package com.tecsup.app.micro.user.application.usecase;
+
+import com.tecsup.app.micro.user.domain.event.UserChangedEvent;
+import com.tecsup.app.micro.user.domain.exception.UserVersionConflictException;
+import com.tecsup.app.micro.user.domain.model.User;
+import com.tecsup.app.micro.user.domain.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class UpdateUserUseCaseTest {
+
+    private final UserRepository repository = mock(UserRepository.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final UpdateUserUseCase useCase = new UpdateUserUseCase(repository, eventPublisher);
+
+    private final User details = User.builder().name("Ana María").email("ana@tecsup.edu.pe").build();
+
+    @Test
+    void staleIfMatchVersionIsRejectedWithoutSavingOrNotifying() {
+        when(repository.findById(1L)).thenReturn(Optional.of(stored(4L)));
+
+        assertThrows(UserVersionConflictException.class, () -> useCase.execute(1L, details, 3L));
+        verify(repository, never()).save(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void updatePublishesTheNewVersion() {
+        when(repository.findById(1L)).thenReturn(Optional.of(stored(4L)));
+        when(repository.save(any())).thenAnswer(call -> {
+            User saved = call.getArgument(0);
+            saved.setVersion(5L);
+            return saved;
+        });
+
+        User updated = useCase.execute(1L, details, 4L);
+
+        assertEquals("Ana María", updated.getName());
+        verify(eventPublisher).publishEvent(new UserChangedEvent(1L, 5L, UserChangedEvent.Operation.UPDATED));
+    }
+
+    private static User stored(Long version) {
+        return User.builder().id(1L).name("Ana").email("ana@tecsup.edu.pe").version(version).build();
+    }
+}
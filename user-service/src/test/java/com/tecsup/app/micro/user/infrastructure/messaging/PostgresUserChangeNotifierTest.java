@@ -0,0 +1,76 @@
+package com.tecsup.app.micro.user.infrastructure.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tecsup.app.micro.user.PostgresTest;
+import com.tecsup.app.micro.user.domain.event.UserChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostgresUserChangeNotifierTest extends PostgresTest {
+
+    private static final String CHANNEL = "user_changes_test";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private PostgresUserChangeNotifier notifier;
+    private TransactionTemplate transactionTemplate;
+    private Connection listener;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(jdbcUrl(), username(), password());
+        notifier = new PostgresUserChangeNotifier(new JdbcTemplate(dataSource), objectMapper);
+        ReflectionTestUtils.setField(notifier, "channel", CHANNEL);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        listener = DriverManager.getConnection(jdbcUrl(), username(), password());
+        try (Statement statement = listener.createStatement()) {
+            statement.execute("LISTEN " + CHANNEL);
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        listener.close();
+    }
+
+    @Test
+    void eventIsDeliveredOnCommitWithTheFieldsProductServiceReads() throws Exception {
+        transactionTemplate.executeWithoutResult(status ->
+                notifier.onUserChanged(new UserChangedEvent(5L, 2L, UserChangedEvent.Operation.UPDATED)));
+
+        PGNotification[] notifications = listener.unwrap(PGConnection.class).getNotifications(5000);
+        assertNotNull(notifications);
+        assertEquals(1, notifications.length);
+        JsonNode payload = objectMapper.readTree(notifications[0].getParameter());
+        assertEquals(5L, payload.get("id").asLong());
+        assertEquals(2L, payload.get("version").asLong());
+        assertEquals("UPDATED", payload.get("op").asText());
+    }
+
+    @Test
+    void rolledBackChangeIsNotDelivered() throws SQLException {
+        transactionTemplate.executeWithoutResult(status -> {
+            notifier.onUserChanged(new UserChangedEvent(6L, 0L, UserChangedEvent.Operation.CREATED));
+            status.setRollbackOnly();
+        });
+
+        PGNotification[] notifications = listener.unwrap(PGConnection.class).getNotifications(500);
+        assertTrue(notifications == null || notifications.length == 0);
+    }
+}
@@ -0,0 +1,42 @@
+package com.tecsup.app.micro.user.infrastructure.persistence.datasource;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrimaryReadFilterTest {
+
+    private final PrimaryReadFilter filter = new PrimaryReadFilter();
+
+    @Test
+    void requestWithTheHeaderReadsFromThePrimary() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users/batch");
+        request.addHeader(PrimaryReadFilter.HEADER, "true");
+
+        assertTrue(pinnedDuring(request));
+        assertFalse(PrimaryReads.isPinned());
+    }
+
+    @Test
+    void otherRequestsKeepUsingTheReplica() throws Exception {
+        assertFalse(pinnedDuring(new MockHttpServletRequest("GET", "/api/users/batch")));
+    }
+
+    private boolean pinnedDuring(MockHttpServletRequest request) throws Exception {
+        AtomicBoolean pinned = new AtomicBoolean();
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                pinned.set(PrimaryReads.isPinned());
+            }
+        });
+        return pinned.get();
+    }
+}
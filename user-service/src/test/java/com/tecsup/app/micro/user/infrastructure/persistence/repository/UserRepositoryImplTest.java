@@ -0,0 +1,108 @@
+package com.tecsup.app.micro.user.infrastructure.persistence.repository;
+
+import com.tecsup.app.micro.user.PostgresTest;
+import com.tecsup.app.micro.user.domain.model.User;
+import com.tecsup.app.micro.user.domain.model.UserListVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Adaptador de persistencia contra PostgreSQL con el esquema de database/
+ * Cada prueba confirma sus propias transacciones y borra lo que creó
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.cache.use_second_level_cache=false")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(UserRepositoryImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserRepositoryImplTest extends PostgresTest {
+
+    @Autowired
+    private UserRepositoryImpl repository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        created.forEach(repository::deleteById);
+    }
+
+    @Test
+    void staleVersionIsRejectedOnSave() {
+        User user = create("Ana");
+
+        User updated = repository.save(copy(user, "Ana María"));
+        assertEquals(user.getVersion() + 1, updated.getVersion());
+
+        // Segunda escritura basada en la lectura original: el UPDATE ... WHERE version = ? no afecta filas
+        assertThrows(OptimisticLockingFailureException.class, () -> repository.save(copy(user, "Lost update")));
+        assertEquals("Ana María", repository.findById(user.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    void forEachStreamsEveryUserInIdOrder() {
+        Long first = create("Luis").getId();
+        Long second = create("Rosa").getId();
+
+        List<Long> ids = new ArrayList<>();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                repository.forEach(user -> ids.add(user.getId())));
+
+        assertTrue(ids.indexOf(first) >= 0 && ids.indexOf(first) < ids.indexOf(second));
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    void listVersionChangesWhenARowIsReplacedOrUpdated() {
+        User replaced = create("Marta");
+        UserListVersion before = repository.findListVersion();
+
+        // Baja y alta: count no cambia, idSum sí
+        repository.deleteById(replaced.getId());
+        created.remove(replaced.getId());
+        User replacement = create("Jorge");
+        UserListVersion afterReplace = repository.findListVersion();
+        assertEquals(before.getCount(), afterReplace.getCount());
+        assertNotEquals(before.getIdSum(), afterReplace.getIdSum());
+
+        repository.save(copy(replacement, "Jorge Luis"));
+        assertEquals(afterReplace.getVersionSum() + 1, repository.findListVersion().getVersionSum());
+    }
+
+    private User create(String name) {
+        User user = repository.save(User.builder()
+                .name(name)
+                .email(name.toLowerCase() + "." + UUID.randomUUID() + "@tecsup.edu.pe")
+                .build());
+        created.add(user.getId());
+        return user;
+    }
+
+    private static User copy(User user, String name) {
+        return User.builder()
+                .id(user.getId())
+                .name(name)
+                .email(user.getEmail())
+                .createdAt(user.getCreatedAt())
+                .updatedAt(user.getUpdatedAt())
+                .version(user.getVersion())
+                .build();
+    }
+}
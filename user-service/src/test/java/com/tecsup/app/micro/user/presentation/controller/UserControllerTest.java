@@ -0,0 +1,197 @@
+package com.tecsup.app.micro.user.presentation.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tecsup.app.micro.user.application.service.UserApplicationService;
+import com.tecsup.app.micro.user.domain.exception.UserVersionConflictException;
+import com.tecsup.app.micro.user.domain.model.User;
+import com.tecsup.app.micro.user.domain.model.UserListVersion;
+import com.tecsup.app.micro.user.domain.model.UserVersion;
+import com.tecsup.app.micro.user.presentation.mapper.UserDtoMapperImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+class UserControllerTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2025, 3, 1, 10, 0);
+    private static final long LIST_MODIFIED = ETags.epochMillis(UPDATED_AT);
+    private static final String UPDATE_BODY = "{\"name\":\"Ana María\",\"email\":\"ana@tecsup.edu.pe\"}";
+
+    private final UserApplicationService service = mock(UserApplicationService.class);
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final MockMvc mvc = MockMvcBuilders
+            .standaloneSetup(new UserController(service, new UserDtoMapperImpl(), objectMapper))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper))
+            .build();
+
+    @Test
+    void exportWritesOneJsonDocumentPerLine() throws Exception {
+        exportUsers(user(1L, "Ana", 0L), user(2L, "Luis", 0L));
+
+        MvcResult result = mvc.perform(get("/api/users/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+        List<String> lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(2, lines.size());
+        assertEquals("Ana", objectMapper.readTree(lines.get(0)).get("name").asText());
+        assertEquals(2L, objectMapper.readTree(lines.get(1)).get("id").asLong());
+    }
+
+    @Test
+    void exportIsCompressedWhenTheClientAcceptsGzip() throws Exception {
+        exportUsers(user(1L, "Ana", 0L));
+
+        MvcResult result = mvc.perform(get("/api/users/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mvc.perform(asyncDispatch(result))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+
+        byte[] body = result.getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            String line = new String(in.readAllBytes(), StandardCharsets.UTF_8).trim();
+            assertEquals("Ana", objectMapper.readTree(line).get("name").asText());
+        }
+    }
+
+    @Test
+    void unconditionalGetLoadsTheUserOnceAndTakesTheETagFromIt() throws Exception {
+        when(service.getUserById(1L)).thenReturn(user(1L, "Ana", 2L));
+
+        mvc.perform(get("/api/users/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(jsonPath("$.name").value("Ana"));
+
+        verify(service, never()).getUserVersion(any());
+    }
+
+    @Test
+    void matchingIfNoneMatchIsNotModifiedWithoutLoadingTheUser() throws Exception {
+        when(service.getUserVersion(1L)).thenReturn(new UserVersion(2L, UPDATED_AT));
+
+        mvc.perform(get("/api/users/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+                .andExpect(content().string(""));
+
+        verify(service, never()).getUserById(any());
+    }
+
+    @Test
+    void unchangedListIsNotModified() throws Exception {
+        when(service.getUserListVersion()).thenReturn(new UserListVersion(3L, 6L, 4L, UPDATED_AT));
+
+        mvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, "W/\"3-6-4-" + LIST_MODIFIED + "\""))
+                .andExpect(status().isNotModified());
+
+        verify(service, never()).getAllUsers();
+    }
+
+    @Test
+    void replacementWithTheSameIdSumChangesTheListETag() throws Exception {
+        // Filas reemplazadas sin mover la suma de ids (ids fuera de orden): solo cambia la última modificación
+        when(service.getUserListVersion()).thenReturn(new UserListVersion(3L, 6L, 4L, UPDATED_AT.plusSeconds(1)));
+        when(service.getAllUsers()).thenReturn(List.of(user(1L, "Ana", 0L)));
+
+        mvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, "W/\"3-6-4-" + LIST_MODIFIED + "\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void replacedRowChangesTheListETag() throws Exception {
+        // Misma cantidad y misma última modificación, pero otra fila: cambia la suma de ids
+        when(service.getUserListVersion()).thenReturn(new UserListVersion(3L, 7L, 4L, UPDATED_AT));
+        when(service.getAllUsers()).thenReturn(List.of(user(1L, "Ana", 0L)));
+
+        mvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, "W/\"3-6-4-" + LIST_MODIFIED + "\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "W/\"3-7-4-" + LIST_MODIFIED + "\""))
+                .andExpect(jsonPath("$[0].name").value("Ana"));
+    }
+
+    @Test
+    void updateWithMatchingIfMatchReturnsTheNewETag() throws Exception {
+        when(service.updateUser(eq(1L), any(User.class), eq(3L))).thenReturn(user(1L, "Ana María", 4L));
+
+        mvc.perform(put("/api/users/1").header(HttpHeaders.IF_MATCH, "\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+                .andExpect(jsonPath("$.version").value(4));
+    }
+
+    @Test
+    void updateWithStaleIfMatchIsPreconditionFailed() throws Exception {
+        when(service.updateUser(eq(1L), any(User.class), eq(2L))).thenThrow(new UserVersionConflictException(1L));
+
+        mvc.perform(put("/api/users/1").header(HttpHeaders.IF_MATCH, "\"2\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @Test
+    void weakIfMatchNeverMatches() throws Exception {
+        mvc.perform(put("/api/users/1").header(HttpHeaders.IF_MATCH, "W/\"3\"")
+                        .contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isPreconditionFailed());
+
+        verify(service, never()).updateUser(any(), any(), any());
+    }
+
+    @Test
+    void concurrentWriteDetectedOnSaveIsPreconditionFailed() throws Exception {
+        when(service.updateUser(eq(1L), any(User.class), isNull()))
+                .thenThrow(new OptimisticLockingFailureException("Row was updated by another transaction"));
+
+        mvc.perform(put("/api/users/1").contentType(MediaType.APPLICATION_JSON).content(UPDATE_BODY))
+                .andExpect(status().isPreconditionFailed());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void exportUsers(User... users) {
+        doAnswer(call -> {
+            Consumer<User> action = call.getArgument(0);
+            List.of(users).forEach(action);
+            return null;
+        }).when(service).exportUsers(any(Consumer.class));
+    }
+
+    private static User user(Long id, String name, Long version) {
+        return User.builder()
+                .id(id)
+                .name(name)
+                .email(name.toLowerCase() + "@tecsup.edu.pe")
+                .createdAt(UPDATED_AT)
+                .updatedAt(UPDATED_AT)
+                .version(version)
+                .build();
+    }
+}